@@ -0,0 +1,41 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 David Meersteiner
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.dm.javafx.time.exception;
+
+/**
+ * A {@link NumberParseException} without a stack trace and without a cause,
+ * which is cheap to create. Useful for callers, which expect many inputs to fail.
+ * 
+ * @author David Meersteiner
+ * @version 0.1.0
+ */
+public class StacklessNumberParseException extends NumberParseException {
+
+	private static final long serialVersionUID = 1L;
+
+	public StacklessNumberParseException(String message) {
+		super(message, null, false, false);
+	}
+}
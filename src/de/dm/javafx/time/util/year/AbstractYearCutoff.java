@@ -0,0 +1,895 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 David Meersteiner
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.dm.javafx.time.util.year;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.IntUnaryOperator;
+
+import de.dm.javafx.time.exception.NumberParseException;
+
+/**
+ * The base of {@link YearCutoff}, which interprets {@code String}s that may contain a short year
+ * and returns {@code int}s as long years. For more information see {@link YearCutoff}.
+ * <p>
+ * AbstractYearCutoff only depends on {@code java.base}. Subclasses decide how the cutoff year is stored:
+ * {@link YearCutoff} wraps it in a JavaFX property, {@link SimpleYearCutoff} in a plain field,
+ * for applications without JavaFX, like headless servers.
+ * Subclasses have to call {@link AbstractYearCutoff#updateShortYearTable()}, whenever the cutoff year changes.
+ * @author David Meersteiner
+ * @version 0.1.0
+ */
+public abstract class AbstractYearCutoff implements ShortYearInterpreter {
+	
+	/**
+	 * The maximal number of digits of a short year, unless another number is given to the constructor.
+	 * <p>
+	 * Current value = {@value}
+	 */
+	// Unless this code lives for ~8000 years, it should probably stay at 2.
+	public static final int MAX_SHORTYEAR_DIGITS = 2;
+	
+	/**
+	 * The range of the cutoff based on {@link AbstractYearCutoff#MAX_SHORTYEAR_DIGITS}.
+	 * <p>
+	 * Current value = {@value}
+	 */
+	public static final int CUTOFF_RANGE = 100;
+	
+	/**
+	 * The smallest number of digits of a short year, which can be given to the constructor.
+	 * <p>
+	 * Current value = {@value}
+	 */
+	public static final int MIN_CONFIGURABLE_SHORTYEAR_DIGITS = 1;
+	
+	/**
+	 * The largest number of digits of a short year, which can be given to the constructor.
+	 * <p>
+	 * Current value = {@value}
+	 */
+	public static final int MAX_CONFIGURABLE_SHORTYEAR_DIGITS = 3;
+	
+	private static final int[] POWERS_OF_TEN = { 1, 10, 100, 1000 };
+	
+	/**
+	 * The offset in years for the default constructor from this year.
+	 * <p>
+	 * Current value = {@value}
+	 */
+	public static final int DEFAULT_CUTOFF_OFFSET = 30;
+	
+	private static final YearCutoffBehaviour _default_handler = new BasicYearCutoffHandler();
+	
+	private static final String[] BEHAVIOUR_METHODS = {
+			"handleShortYearBeforeCutoff", "handleShortYearAfterCutoff", "handleShortYearOnCutoff" };
+	
+	/**
+	 * The indices of the methods of a {@link YearCutoffBehaviour}.
+	 */
+	static final int BEFORE_CUTOFF = 0, AFTER_CUTOFF = 1, ON_CUTOFF = 2;
+	
+	// the bits of a method of a behaviour, shifted by its index:
+	// the method taking an AbstractYearCutoff is implemented by the behaviour itself,
+	private static final int OWN_METHOD = 1;
+	// or answered with the primitives of an IntYearCutoffBehaviour,
+	private static final int PRIMITIVE_METHOD = 1 << 3;
+	// and the method taking a YearCutoff is implemented by the behaviour itself
+	private static final int YEAR_CUTOFF_METHOD = 1 << 6;
+	
+	private static final ClassValue<Integer> BEHAVIOUR_OVERRIDES = new ClassValue<Integer>() {
+		@Override
+		protected Integer computeValue(Class<?> type) {
+			int overrides = 0;
+			for (int method = 0; method < BEHAVIOUR_METHODS.length; method++) {
+				String name = BEHAVIOUR_METHODS[method];
+				try {
+					Class<?> declaring = type.getMethod(name, AbstractYearCutoff.class, YearArgument.class).getDeclaringClass();
+					if (declaring == IntYearCutoffBehaviour.class) {
+						overrides |= PRIMITIVE_METHOD << method;
+					} else if (declaring != YearCutoffBehaviour.class) {
+						overrides |= OWN_METHOD << method;
+					}
+					declaring = type.getMethod(name, YearCutoff.class, YearArgument.class).getDeclaringClass();
+					if (declaring != YearCutoffBehaviour.class && declaring != IntYearCutoffBehaviour.class) {
+						overrides |= YEAR_CUTOFF_METHOD << method;
+					}
+				} catch (NoSuchMethodException | SecurityException ex) {
+					overrides |= OWN_METHOD << method;
+				}
+			}
+			return overrides;
+		}
+	};
+	
+	private YearCutoffBehaviour handler;
+	
+	private final int shortYearDigits;
+	private final int cutoffRange;
+	
+	private int[] shortYearTable;
+	
+	/* PROPERTIES */
+
+	/**
+	 * Gets the cutoff year, the year that acts as a border.
+	 * @return the cutoff year
+	 */
+	public abstract int getCutoffYear();
+	/**
+	 * Sets the cutoff year, the year that acts as a border.
+	 * @param value the year to set
+	 */
+	public abstract void setCutoffYear(int value);
+	
+	/* CONSTRUCTORS */
+
+	/**
+	 * Creates a new instance with the given maximal number of digits of a short year.
+	 * <p>
+	 * The short year table is built, when the subclass calls {@link AbstractYearCutoff#updateShortYearTable()}.
+	 * @param shortYearDigits the maximal number of digits of a short year,
+	 * from {@link AbstractYearCutoff#MIN_CONFIGURABLE_SHORTYEAR_DIGITS}
+	 * to {@link AbstractYearCutoff#MAX_CONFIGURABLE_SHORTYEAR_DIGITS}
+	 */
+	protected AbstractYearCutoff(int shortYearDigits) {
+		this.cutoffRange = toCutoffRange(shortYearDigits);
+		this.shortYearDigits = shortYearDigits;
+	}
+	
+	/**
+	 * @param shortYearDigits the maximal number of digits of a short year
+	 * @return the range of the cutoff, i.e. 10 to the power of the digits
+	 * @throws IllegalArgumentException if the digits are out of range
+	 */
+	static int toCutoffRange(int shortYearDigits) {
+		if (shortYearDigits < MIN_CONFIGURABLE_SHORTYEAR_DIGITS || shortYearDigits > MAX_CONFIGURABLE_SHORTYEAR_DIGITS) {
+			throw new IllegalArgumentException("short year digits out of range: " + shortYearDigits);
+		}
+		return POWERS_OF_TEN[shortYearDigits];
+	}
+	
+	/**
+	 * @return the current year + {@link AbstractYearCutoff#DEFAULT_CUTOFF_OFFSET}
+	 */
+	protected static int getDefaultCutoffYear() {
+		LocalDate now = LocalDate.now();
+		int currentYear = now.getYear();
+		int cutoffYear = currentYear+DEFAULT_CUTOFF_OFFSET;
+		return cutoffYear;
+	}
+	
+	/* CLASS METHODS */
+	
+	/**
+	 * Interprets a {@code String}, which may contain a short year, to get a long year. For more information see {@link YearCutoff}.
+	 * <p>
+	 * Decimal digits of any script are accepted, e.g. Arabic-Indic, Devanagari or full-width digits.
+	 * @throws NumberParseException if the parameter couldn't be parsed like {@link Integer#parseInt(String)} does,
+	 * e.g. because it didn't contain a year.
+	 * @return the year parsed and interpreted from the {@code String}
+	 * @see YearCutoff
+	 */
+	public int interpret(String shortYear) throws NumberParseException {
+		YearArgument year = new YearArgument(shortYear, shortYearDigits);
+		if (isShortYear(year)) {
+			return handleShortYear(year);
+		} else {
+			return year.getYearAsInt();
+		}
+	}
+	
+	/**
+	 * Interprets a range of a {@code CharSequence}, which may contain a short year, to get a long year.
+	 * For more information see {@link YearCutoff}.
+	 * <p>
+	 * Gives the same results as {@link AbstractYearCutoff#interpret(String)}, but doesn't create any objects,
+	 * unless the range couldn't be parsed.
+	 * @param shortYear the sequence containing the possible short year
+	 * @param start the start index, inclusive
+	 * @param end the end index, exclusive
+	 * @throws NumberParseException if the range couldn't be parsed,
+	 * e.g. because it didn't contain a year.
+	 * @return the year parsed and interpreted from the range
+	 */
+	@Override
+	public int interpret(CharSequence shortYear, int start, int end) throws NumberParseException {
+		long parsed = YearParser.parse(shortYear, start, end);
+		if (!YearParseResult.isOk(parsed)) {
+			throw YearParser.toException(shortYear, start, end);
+		}
+		return interpretParsed(parsed);
+	}
+	
+	/**
+	 * Interprets a range of a UTF-8 encoded {@code byte} array, which may contain a short year, to get a long year.
+	 * For more information see {@link YearCutoff}.
+	 * <p>
+	 * Whitespace is skipped like {@link String#trim()} does. Gives the same results as
+	 * {@link AbstractYearCutoff#interpret(String)}, but doesn't create any objects, unless the range couldn't be parsed.
+	 * @param shortYear the array containing the possible short year
+	 * @param offset the index of the first byte
+	 * @param length the number of bytes
+	 * @throws NumberParseException if the range couldn't be parsed,
+	 * e.g. because it didn't contain a year.
+	 * @return the year parsed and interpreted from the range
+	 */
+	public int interpret(byte[] shortYear, int offset, int length) throws NumberParseException {
+		long parsed = YearParser.parse(shortYear, offset, length);
+		if (!YearParseResult.isOk(parsed)) {
+			throw YearParser.toException(shortYear, offset, length);
+		}
+		return interpretParsed(parsed);
+	}
+	
+	/**
+	 * Interprets a range of a UTF-8 encoded {@code ByteBuffer}, which may contain a short year, to get a long year.
+	 * For more information see {@link YearCutoff}.
+	 * <p>
+	 * The range is read in place with absolute indices, so heap and direct buffers are never copied
+	 * and neither their position nor their limit change.
+	 * Whitespace is skipped like {@link String#trim()} does. Gives the same results as
+	 * {@link AbstractYearCutoff#interpret(String)}, but doesn't create any objects, unless the range couldn't be parsed.
+	 * @param shortYear the buffer containing the possible short year
+	 * @param offset the index of the first byte
+	 * @param length the number of bytes
+	 * @throws NumberParseException if the range couldn't be parsed,
+	 * e.g. because it didn't contain a year.
+	 * @return the year parsed and interpreted from the range
+	 */
+	public int interpret(ByteBuffer shortYear, int offset, int length) throws NumberParseException {
+		long parsed = YearParser.parse(shortYear, offset, length);
+		if (!YearParseResult.isOk(parsed)) {
+			throw YearParser.toException(shortYear, offset, length);
+		}
+		return interpretParsed(parsed);
+	}
+	
+	/**
+	 * Interprets a range of a {@code CharSequence}, which may contain a short year, to get a long year,
+	 * without throwing an exception. For more information see {@link YearCutoff}.
+	 * <p>
+	 * Doesn't create any objects.
+	 * @param shortYear the sequence containing the possible short year
+	 * @param start the start index, inclusive
+	 * @param end the end index, exclusive
+	 * @return the result holding the interpreted year or the reason of the failure, see {@link YearParseResult}
+	 */
+	@Override
+	public long tryInterpret(CharSequence shortYear, int start, int end) {
+		return tryInterpretParsed(YearParser.parse(shortYear, start, end));
+	}
+	
+	/**
+	 * Interprets a range of a UTF-8 encoded {@code byte} array, which may contain a short year, to get a long year,
+	 * without throwing an exception. For more information see {@link AbstractYearCutoff#interpret(byte[], int, int)}.
+	 * @param shortYear the array containing the possible short year
+	 * @param offset the index of the first byte
+	 * @param length the number of bytes
+	 * @return the result holding the interpreted year or the reason of the failure, see {@link YearParseResult}
+	 */
+	public long tryInterpret(byte[] shortYear, int offset, int length) {
+		return tryInterpretParsed(YearParser.parse(shortYear, offset, length));
+	}
+	
+	/**
+	 * Interprets a range of a UTF-8 encoded {@code ByteBuffer}, which may contain a short year, to get a long year,
+	 * without throwing an exception. For more information see {@link AbstractYearCutoff#interpret(ByteBuffer, int, int)}.
+	 * @param shortYear the buffer containing the possible short year
+	 * @param offset the index of the first byte
+	 * @param length the number of bytes
+	 * @return the result holding the interpreted year or the reason of the failure, see {@link YearParseResult}
+	 */
+	public long tryInterpret(ByteBuffer shortYear, int offset, int length) {
+		return tryInterpretParsed(YearParser.parse(shortYear, offset, length));
+	}
+	
+	/**
+	 * Interprets a batch of {@code CharSequence}s, which may contain short years, to get long years,
+	 * without throwing an exception for inputs that aren't years.
+	 * For more information see {@link ShortYearInterpreter#interpretAll(CharSequence[], int[], long[])}.
+	 * <p>
+	 * The cutoff year and behaviour are read once for the whole batch. No objects are created.
+	 * @param shortYears the possible short years
+	 * @param years the array receiving the years, at least as long as the batch
+	 * @param errors the error bitmap, at least {@code (shortYears.length + 63) / 64} long
+	 * @return the number of inputs, which couldn't be interpreted
+	 */
+	@Override
+	public int interpretAll(CharSequence[] shortYears, int[] years, long[] errors) {
+		return YearBatch.interpretAll(shortYearTable, shortYearDigits, shortYears, 0, shortYears.length, years, errors);
+	}
+	
+	/**
+	 * Interprets a batch of {@code CharSequence}s, which may contain short years, to get long years,
+	 * without throwing an exception for inputs that aren't years.
+	 * For more information see {@link ShortYearInterpreter#interpretAll(CharSequence[], int[], long[])}.
+	 * <p>
+	 * The cutoff year and behaviour are read once for the whole batch.
+	 * @param shortYears the possible short years
+	 * @param years the array receiving the years, at least as long as the batch
+	 * @param errors the error bitmap, at least {@code (shortYears.size() + 63) / 64} long
+	 * @return the number of inputs, which couldn't be interpreted
+	 */
+	@Override
+	public int interpretAll(List<? extends CharSequence> shortYears, int[] years, long[] errors) {
+		return YearBatch.interpretAll(shortYearTable, shortYearDigits, shortYears, 0, shortYears.size(), years, errors);
+	}
+	
+	private long tryInterpretParsed(long parsed) {
+		if (!YearParseResult.isOk(parsed)) {
+			return parsed;
+		}
+		return YearParseResult.withYear(parsed, interpretParsed(parsed));
+	}
+	
+	private int interpretParsed(long parsed) {
+		int year = YearParseResult.getYear(parsed);
+		if (isIntShortYear(year) && isShortYearLength(YearParseResult.getLength(parsed))) {
+			return handleShortYear(year);
+		} else {
+			return year;
+		}
+	}
+
+	/**
+	 * Creates an immutable snapshot of the current cutoff year and behaviour.
+	 * <p>
+	 * The snapshot interprets short years like this instance does now, but reads no properties,
+	 * so it can be shared by background threads without locking, while this instance may still be changed.
+	 * @return the snapshot
+	 */
+	public FrozenYearCutoff freeze() {
+		return new FrozenYearCutoff(getCutoffYear(), getBehaviour(), shortYearDigits, shortYearTable);
+	}
+	
+	/**
+	 * Compiles the current cutoff year and behaviour into a function mapping short years to long years.
+	 * <p>
+	 * The function is a single load from the short year table, so the JIT can inline it into parsing loops.
+	 * Values from {@code 0} up to {@link AbstractYearCutoff#getCutoffRange()}, exclusive, are mapped like
+	 * short years, any other value is returned unchanged.
+	 * Later changes of this instance don't affect the function.
+	 * @return the mapping function
+	 */
+	public IntUnaryOperator compile() {
+		return new ShortYearTableMapper(shortYearTable);
+	}
+	
+	/**
+	 * Abbreviates a long year to a short year, the reverse of {@link AbstractYearCutoff#interpret(String)}.
+	 * <p>
+	 * Only long years within the window of the current cutoff year can be abbreviated,
+	 * any other year would be read back as a different year, e.g. for the cutoff year 2020
+	 * 1998 becomes 98, but 1920 can't be abbreviated, because "20" is read back as 2020.
+	 * @param longYear the long year
+	 * @return the short year, or {@code -1}, if the long year can't be read back from it
+	 */
+	public int abbreviate(int longYear) {
+		return YearAbbreviator.abbreviate(shortYearTable, longYear);
+	}
+	
+	/**
+	 * Abbreviates a long year and appends the short year with leading zeros,
+	 * {@link AbstractYearCutoff#getShortYearDigits()} characters, e.g. "05".
+	 * For more information see {@link AbstractYearCutoff#abbreviate(int)}.
+	 * <p>
+	 * Doesn't create any objects, unless the destination does.
+	 * @param longYear the long year
+	 * @param out the destination, e.g. a {@code StringBuilder} or a {@code Writer}
+	 * @return the number of characters appended, or {@code -1} without appending anything,
+	 * if the long year can't be read back from them
+	 * @throws IOException if the destination throws it
+	 */
+	public int abbreviate(int longYear, Appendable out) throws IOException {
+		return YearAbbreviator.abbreviate(shortYearTable, shortYearDigits, longYear, out);
+	}
+	
+	/**
+	 * Abbreviates a long year and writes the short year with leading zeros into a {@code char} array,
+	 * {@link AbstractYearCutoff#getShortYearDigits()} characters. For more information see {@link AbstractYearCutoff#abbreviate(int)}.
+	 * @param longYear the long year
+	 * @param out the destination
+	 * @param offset the index of the first character to write
+	 * @return the number of characters written, or {@code -1} without writing anything,
+	 * if the long year can't be read back from them
+	 * @throws IndexOutOfBoundsException if the short year doesn't fit the destination
+	 */
+	public int abbreviate(int longYear, char[] out, int offset) {
+		return YearAbbreviator.abbreviate(shortYearTable, shortYearDigits, longYear, out, offset);
+	}
+	
+	/**
+	 * Abbreviates a long year and writes the short year with leading zeros as ASCII digits into a {@code byte} array,
+	 * {@link AbstractYearCutoff#getShortYearDigits()} bytes. For more information see {@link AbstractYearCutoff#abbreviate(int)}.
+	 * @param longYear the long year
+	 * @param out the destination
+	 * @param offset the index of the first byte to write
+	 * @return the number of bytes written, or {@code -1} without writing anything,
+	 * if the long year can't be read back from them
+	 * @throws IndexOutOfBoundsException if the short year doesn't fit the destination
+	 */
+	public int abbreviate(int longYear, byte[] out, int offset) {
+		return YearAbbreviator.abbreviate(shortYearTable, shortYearDigits, longYear, out, offset);
+	}
+	
+	/**
+	 * Abbreviates a batch of long years to short years. For more information see {@link AbstractYearCutoff#abbreviate(int)}.
+	 * <p>
+	 * The short year of the long year at index {@code i} is written to {@code shortYears[i]}.
+	 * Bit {@code i % 64} of {@code errors[i / 64]} is set, if that long year can't be abbreviated,
+	 * in which case its short year is {@code 0}, and cleared otherwise.
+	 * The cutoff year and behaviour are read once for the whole batch. No objects are created.
+	 * @param longYears the long years
+	 * @param shortYears the array receiving the short years, at least as long as the batch
+	 * @param errors the error bitmap, at least {@code (longYears.length + 63) / 64} long
+	 * @return the number of long years, which couldn't be abbreviated
+	 */
+	public int abbreviateAll(int[] longYears, int[] shortYears, long[] errors) {
+		return YearAbbreviator.abbreviateAll(shortYearTable, longYears, 0, longYears.length, shortYears, errors);
+	}
+	
+	/**
+	 * Abbreviates a range of a batch of long years into fixed-width fields of ASCII digits,
+	 * e.g. the year column of an export. For more information see {@link AbstractYearCutoff#abbreviate(int)}.
+	 * <p>
+	 * The field of the long year at index {@code i} starts at {@code offset + (i - from) * getShortYearDigits()}.
+	 * Failures are marked in the error bitmap like {@link AbstractYearCutoff#abbreviateAll(int[], int[], long[])} does,
+	 * but their fields aren't changed, bits of the error bitmap outside of the range aren't changed either.
+	 * The cutoff year and behaviour are read once for the whole batch. No objects are created.
+	 * @param longYears the long years
+	 * @param from the first index, inclusive
+	 * @param to the last index, exclusive
+	 * @param out the array receiving the fields
+	 * @param offset the index of the first field
+	 * @param errors the error bitmap
+	 * @return the number of long years in the range, which couldn't be abbreviated
+	 * @throws IndexOutOfBoundsException if the range doesn't fit the long years, the fields or the bitmap
+	 */
+	public int abbreviateAll(int[] longYears, int from, int to, byte[] out, int offset, long[] errors) {
+		return YearAbbreviator.abbreviateAll(shortYearTable, shortYearDigits, longYears, from, to, out, offset, errors);
+	}
+	
+	/**
+	 * Checks if a given {@code YearArgument} contains a short year.
+	 * @param shortYear a possible short year.
+	 * @return {@code true}, if the parameter contains a short year, {@code false} otherwise.
+	 */
+	protected boolean isShortYear(YearArgument shortYear) {
+		return isIntShortYear(shortYear.getYearAsInt())
+				&& isStringShortYear(shortYear.getYearAsString());
+	}
+	
+	/**
+	 * Checks if a given {@code int} contains a short year, according to {@link AbstractYearCutoff#getCutoffRange()}.
+	 * @param shortYear an {@code int} containing a possible short year.
+	 * @return {@code true}, if the parameter contains a short year, {@code false} otherwise. 
+	 */
+	protected boolean isIntShortYear(int shortYear) {
+		int lowerBoundIncl = 0;
+		int upperBoundExcl = cutoffRange;
+		return lowerBoundIncl <= shortYear
+				&& shortYear < upperBoundExcl;
+	}
+	
+	/**
+	 * Checks if a given {@code String} contains a short year, according to {@link AbstractYearCutoff#getShortYearDigits()}.
+	 * <p>
+	 * This check is necessary, as the expected behaviour for the {@code String} "0005" should result in the year 5 A.D. 
+	 * Digits are counted as code points, so digits outside of the Basic Multilingual Plane count once.
+	 * @param shortYear
+	 * @return {@code true}, if the parameter contains a short year, {@code false} otherwise.
+	 */
+	protected boolean isStringShortYear(String shortYear) {
+		return isShortYearLength(shortYear.codePointCount(0, shortYear.length()));
+	}
+
+	/**
+	 * Checks if a given length of a trimmed year fits a short year, according to {@link AbstractYearCutoff#getShortYearDigits()}.
+	 * @param length the length of the trimmed year
+	 * @return {@code true}, if the length fits a short year, {@code false} otherwise.
+	 */
+	protected boolean isShortYearLength(int length) {
+		return length <= shortYearDigits;
+	}
+	
+	/**
+	 * Handles a short year depending on its content and the set YearCutoffHandler.
+	 * <p>
+	 * The result is read from the short year table, see {@link AbstractYearCutoff#computeShortYear(YearArgument)}.
+	 * @param shortYear
+	 * @return the interpreted year as an {@code int}.
+	 */
+	protected int handleShortYear(YearArgument shortYear) {
+		return handleShortYear(shortYear.getYearAsInt());
+	}
+
+	/**
+	 * Handles a short year given as an {@code int}, without creating any objects.
+	 * <p>
+	 * The result is read from the short year table, see {@link AbstractYearCutoff#computeShortYear(YearArgument)}.
+	 * @param shortYear the short year
+	 * @return the interpreted year as an {@code int}.
+	 */
+	protected int handleShortYear(int shortYear) {
+		return shortYearTable[shortYear];
+	}
+	
+	/**
+	 * Computes the long year for a short year depending on its content and the set YearCutoffHandler.
+	 * <p>
+	 * As the result only depends on the cutoff year and the behaviour,
+	 * it is computed once for every short year and kept in the short year table,
+	 * which is rebuilt whenever one of them changes.
+	 * @param shortYear the short year
+	 * @return the interpreted year as an {@code int}.
+	 */
+	protected int computeShortYear(YearArgument shortYear) {
+		YearCutoffCompareCheck comparer = new YearCutoffCompareCheck(this, shortYear);
+		if (comparer.isShortYearBeforeCutoffOffset()) {
+			return getBehaviour().handleShortYearBeforeCutoff(this, shortYear);
+		} else if (comparer.isShortYearAfterCutoffOffset()) {
+			return getBehaviour().handleShortYearAfterCutoff(this, shortYear);
+		} else {
+			return getBehaviour().handleShortYearOnCutoff(this, shortYear);
+		}
+	}
+	
+	/**
+	 * Returns the short year table of the current cutoff year and behaviour.
+	 * <p>
+	 * The table is never modified after it was built, so it can be shared with other threads.
+	 * @return the short year table
+	 */
+	int[] getShortYearTable() {
+		return shortYearTable;
+	}
+	
+	/**
+	 * Rebuilds the short year table from the current cutoff year and behaviour.
+	 * Has to be called by subclasses, whenever the cutoff year changes.
+	 * <p>
+	 * An {@link IntYearCutoffBehaviour}, which doesn't override the object based methods,
+	 * is asked with primitives, without creating any objects but the table,
+	 * other behaviours through {@link AbstractYearCutoff#computeShortYear(YearArgument)}.
+	 */
+	protected final void updateShortYearTable() {
+		int[] table = new int[cutoffRange];
+		YearCutoffBehaviour behaviour = getBehaviour();
+		if (isPrimitiveBehaviour(behaviour)) {
+			IntYearCutoffBehaviour intBehaviour = (IntYearCutoffBehaviour) behaviour;
+			int cutoffYear = getCutoffYear();
+			for (int shortYear = 0; shortYear < table.length; shortYear++) {
+				table[shortYear] = intBehaviour.handleShortYear(cutoffYear, shortYear, cutoffRange);
+			}
+		} else {
+			for (int shortYear = 0; shortYear < table.length; shortYear++) {
+				table[shortYear] = computeShortYear(new YearArgument(shortYear, shortYearDigits));
+			}
+		}
+		shortYearTable = table;
+	}
+	
+	/**
+	 * @param behaviour a behaviour
+	 * @return {@code true}, if the behaviour is an {@link IntYearCutoffBehaviour}, which doesn't override the object based methods,
+	 * so it can be asked with primitives
+	 */
+	static boolean isPrimitiveBehaviour(YearCutoffBehaviour behaviour) {
+		return BEHAVIOUR_OVERRIDES.get(behaviour.getClass()) == PRIMITIVE_METHOD * 0b111;
+	}
+	
+	/**
+	 * @param behaviour a behaviour
+	 * @param method the index of the method, e.g. {@link AbstractYearCutoff#BEFORE_CUTOFF}
+	 * @return {@code true}, if the behaviour implements the method taking an {@code AbstractYearCutoff} itself
+	 */
+	static boolean implementsAbstractYearCutoffMethod(YearCutoffBehaviour behaviour, int method) {
+		return (BEHAVIOUR_OVERRIDES.get(behaviour.getClass()) & OWN_METHOD << method) != 0;
+	}
+	
+	/**
+	 * @param behaviour a behaviour
+	 * @param method the index of the method, e.g. {@link AbstractYearCutoff#BEFORE_CUTOFF}
+	 * @return {@code true}, if the behaviour implements the method taking a {@code YearCutoff} itself
+	 */
+	static boolean implementsYearCutoffMethod(YearCutoffBehaviour behaviour, int method) {
+		return (BEHAVIOUR_OVERRIDES.get(behaviour.getClass()) & YEAR_CUTOFF_METHOD << method) != 0;
+	}
+	
+	/**
+	 * Checks, that a behaviour implements every method in one of the two sets of {@link YearCutoffBehaviour}.
+	 * @param behaviour a behaviour
+	 * @throws IllegalArgumentException if a method is implemented in neither set
+	 */
+	static void checkBehaviour(YearCutoffBehaviour behaviour) {
+		int overrides = BEHAVIOUR_OVERRIDES.get(behaviour.getClass());
+		for (int method = 0; method < BEHAVIOUR_METHODS.length; method++) {
+			if ((overrides & (OWN_METHOD | PRIMITIVE_METHOD | YEAR_CUTOFF_METHOD) << method) == 0) {
+				throw new IllegalArgumentException(notImplementedMessage(behaviour, method));
+			}
+		}
+	}
+	
+	/**
+	 * @param behaviour a behaviour
+	 * @param method the index of the method, which is implemented in neither set
+	 * @return the exception to throw instead of calling the other set
+	 */
+	static UnsupportedOperationException notImplemented(YearCutoffBehaviour behaviour, int method) {
+		return new UnsupportedOperationException(notImplementedMessage(behaviour, method));
+	}
+	
+	private static String notImplementedMessage(YearCutoffBehaviour behaviour, int method) {
+		String name = BEHAVIOUR_METHODS[method];
+		return behaviour.getClass().getName() + " implements neither " + name + "(AbstractYearCutoff, YearArgument)"
+				+ " nor " + name + "(YearCutoff, YearArgument)";
+	}
+	
+	/* GETTER/SETTER */
+
+	/**
+	 * @return the maximal number of digits of a short year
+	 */
+	public int getShortYearDigits() {
+		return shortYearDigits;
+	}
+	
+	/**
+	 * @return the range of the cutoff, i.e. 10 to the power of {@link AbstractYearCutoff#getShortYearDigits()}
+	 */
+	public int getCutoffRange() {
+		return cutoffRange;
+	}
+
+	/**
+	 * Returns the YearCutoffHandler, or the default handler, if none is set.
+	 * @return the YearCutoffHandler, or the default handler, never {@code null}.
+	 */
+	public YearCutoffBehaviour getBehaviour() {
+		if (handler == null) {
+			return _default_handler;
+		} else {
+			return handler;
+		}
+	}
+	/**
+	 * Set the YearCutoffHandler
+	 * <p>
+	 * The handler is asked once for every short year, the results are kept until the cutoff year
+	 * or the handler change. Therefore a handler has to return the same year for the same parameters.
+	 * @param handlerFactory the handlerFactory to set, or {@code null}
+	 * @throws IllegalArgumentException if the handler implements a method in neither set of {@link YearCutoffBehaviour}
+	 */
+	public void setBehaviour(YearCutoffBehaviour handler) {
+		if (handler != null) {
+			checkBehaviour(handler);
+		}
+		this.handler = handler;
+		updateShortYearTable();
+	}
+	
+	/* GETTER/SETTER HELPER FUNCTIONS */
+	
+	/**
+	 * An easily understandable helper function to set the cutoff year.
+	 * <p>
+	 * <code>
+	 * AbstractYearCutoff yearCutoff = new YearCutoff();
+	 * yearCutoff.setLastValidYear(value);
+	 * </code>
+	 * is equal to
+	 * <code>
+	 * AbstractYearCutoff yearCutoff = new YearCutoff();
+	 * yearCutoff.setCutoffYear(value);
+	 * </code>
+	 * @param value the last year that should be valid, before a cutoff happens
+	 */
+	public void setLastValidYear(int value) { setCutoffYear(value); }
+	
+	/**
+	 * An easily understandable helper function to set the cutoff year.
+	 * <p>
+	 * <code>
+	 * AbstractYearCutoff yearCutoff = new YearCutoff();
+	 * yearCutoff.setFirstValidYear(value);
+	 * </code>
+	 * is equal to
+	 * <code>
+	 * AbstractYearCutoff yearCutoff = new YearCutoff();
+	 * yearCutoff.setCutoffYear(value+yearCutoff.getCutoffRange()-1);
+	 * </code>
+	 * @param value the first year that should be valid, so no cutoff happens
+	 */
+	public void setFirstValidYear(int value) { setLastInvalidYear(value-1); }
+	
+	/**
+	 * An easily understandable helper function to set the cutoff year.
+	 * <p>
+	 * <code>
+	 * AbstractYearCutoff yearCutoff = new YearCutoff();
+	 * yearCutoff.setLastInvalidYear(value);
+	 * </code>
+	 * is equal to
+	 * <code>
+	 * AbstractYearCutoff yearCutoff = new YearCutoff();
+	 * yearCutoff.setCutoffYear(value+yearCutoff.getCutoffRange());
+	 * </code>
+	 * @param value the last year that should be invalid, so a cutoff into the future happens
+	 */
+	public void setLastInvalidYear(int value) { setLastValidYear(value+getCutoffRange()); }
+	
+	/**
+	 * An easily understandable helper function to set the cutoff year.
+	 * <p>v
+	 * <code>
+	 * AbstractYearCutoff yearCutoff = new YearCutoff();
+	 * yearCutoff.setFirstInvalidYear(value);
+	 * </code>
+	 * is equal to
+	 * <code>
+	 * AbstractYearCutoff yearCutoff = new YearCutoff();
+	 * yearCutoff.setCutoffYear(value-1);
+	 * </code>
+	 * @param value the first year that should be invalid, so a cutoff into the past happens
+	 */
+	public void setFirstInvalidYear(int value) { setLastValidYear(value-1); }
+	
+	/* UTILITY CLASSES */
+	
+	/**
+	 * Utility class to hold a year as a {@code String} and as an {@code int}.
+	 * 
+	 * @author David Meersteiner
+	 * @version 0.1.0
+	 */
+	public static class YearArgument {
+		
+		private String yearAsString;
+		private int yearAsInt;
+		private int cutoffRange;
+		
+		/**
+		 * Creates a new YearArgument with the given year.
+		 * @param year the year to initialise the class with
+		 */
+		public YearArgument(String year) {
+			this(year, MAX_SHORTYEAR_DIGITS);
+		}
+		
+		/**
+		 * Creates a new YearArgument with the given year, whose epochs are based on the given number of digits.
+		 * @param year the year to initialise the class with
+		 * @param shortYearDigits the maximal number of digits of a short year,
+		 * from {@link AbstractYearCutoff#MIN_CONFIGURABLE_SHORTYEAR_DIGITS} to {@link AbstractYearCutoff#MAX_CONFIGURABLE_SHORTYEAR_DIGITS}
+		 * @throws IllegalArgumentException if the digits are out of range
+		 */
+		public YearArgument(String year, int shortYearDigits) {
+			this.cutoffRange = toCutoffRange(shortYearDigits);
+			this.yearAsString = year.trim();
+			this.yearAsInt = parseYearOrThrowException(yearAsString);
+		}
+		
+		/**
+		 * Creates a new YearArgument with the given year.
+		 * @param year the year to initialise the class with
+		 */
+		public YearArgument(int year) {
+			this(year, MAX_SHORTYEAR_DIGITS);
+		}
+		
+		/**
+		 * Creates a new YearArgument with the given year, whose epochs are based on the given number of digits.
+		 * @param year the year to initialise the class with
+		 * @param shortYearDigits the maximal number of digits of a short year,
+		 * from {@link AbstractYearCutoff#MIN_CONFIGURABLE_SHORTYEAR_DIGITS} to {@link AbstractYearCutoff#MAX_CONFIGURABLE_SHORTYEAR_DIGITS}
+		 * @throws IllegalArgumentException if the digits are out of range
+		 */
+		public YearArgument(int year, int shortYearDigits) {
+			this.cutoffRange = toCutoffRange(shortYearDigits);
+			this.yearAsString = String.valueOf(year);
+			this.yearAsInt = year;
+		}
+
+		/**
+		 * @return the year as a {@code String}.
+		 */
+		public String getYearAsString() {
+			return yearAsString;
+		}
+
+		/**
+		 * @return the year as an {@code int}.
+		 */
+		public int getYearAsInt() {
+			return yearAsInt;
+		}
+		
+		/**
+		 * 
+		 * @return the epoch of the year
+		 */
+		public int getEpoch() {
+			return getEpoch(yearAsInt, cutoffRange);
+		}
+		
+		/**
+		 * 
+		 * @return the epoch offset, i.e. the year without the epoch
+		 */
+		public int getEpochOffset() {
+			return getEpochOffset(yearAsInt, cutoffRange);
+		}
+		
+		/**
+		 * @return the range, which the epochs are based on
+		 */
+		public int getCutoffRange() {
+			return cutoffRange;
+		}
+
+		/**
+		 * @param year the year
+		 * @param cutoffRange the range of the cutoff
+		 * @return the epoch of the year
+		 * @see YearArgument#getEpoch()
+		 */
+		static int getEpoch(int year, int cutoffRange) {
+			return year - getEpochOffset(year, cutoffRange);
+		}
+
+		/**
+		 * @param year the year
+		 * @param cutoffRange the range of the cutoff
+		 * @return the epoch offset, i.e. the year without the epoch
+		 * @see YearArgument#getEpochOffset()
+		 */
+		static int getEpochOffset(int year, int cutoffRange) {
+			return year % cutoffRange;
+		}
+		
+		/* UTILITY FUNCTIONS */
+
+		/**
+		 * Parses a {@code String} for an {@code int} year, or throws a {@link RuntimeException}
+		 * <p>
+		 * Accepts the same input as {@link Integer#parseInt(String)}, but reads decimal digits of any script,
+		 * see {@link YearParser}.
+		 * @param a {@code String} containing an {@code int}. 
+		 * @return the parsed year as an {@code int}
+		 * @throws NumberParseException if the parameter couldn't be parsed,
+		 * e.g. because it didn't contain a year.
+		 */
+		private int parseYearOrThrowException(String year) throws NumberParseException {
+			long parsed = YearParser.parse(year, 0, year.length());
+			if (!YearParseResult.isOk(parsed)) {
+				throw YearParser.toException(year, 0, year.length());
+			}
+			return YearParseResult.getYear(parsed);
+		}
+	}
+}
@@ -24,40 +24,40 @@
 
 package de.dm.javafx.time.util.year;
 
-import de.dm.javafx.time.util.year.YearCutoff.YearArgument;
+import de.dm.javafx.time.util.year.AbstractYearCutoff.YearArgument;
 
 /**
  * Basic class to handle cutoff behaviour.
  * 
  * @author David Meersteiner
- * @version 0.1.0
+ * @version 0.2.0
  */
-public class BasicYearCutoffHandler implements YearCutoffBehaviour {
+public class BasicYearCutoffHandler implements IntYearCutoffBehaviour {
 
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
-	public int handleShortYearBeforeCutoff(YearCutoff cutoff, YearArgument shortYear) {
-		return new YearArgument(cutoff.getCutoffYear()).getEpoch()
-				+ shortYear.getEpochOffset();
+	public int handleShortYearBeforeCutoff(int cutoffYear, int shortYear, int cutoffRange) {
+		return YearArgument.getEpoch(cutoffYear, cutoffRange)
+				+ YearArgument.getEpochOffset(shortYear, cutoffRange);
 	}
 	
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
-	public int handleShortYearAfterCutoff(YearCutoff cutoff, YearArgument shortYear) {
-		return new YearArgument(cutoff.getCutoffYear()).getEpoch()
-				- YearCutoff.CUTOFF_RANGE
-				+ shortYear.getEpochOffset();
+	public int handleShortYearAfterCutoff(int cutoffYear, int shortYear, int cutoffRange) {
+		return YearArgument.getEpoch(cutoffYear, cutoffRange)
+				- cutoffRange
+				+ YearArgument.getEpochOffset(shortYear, cutoffRange);
 	}
 	
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
-	public int handleShortYearOnCutoff(YearCutoff cutoff, YearArgument shortYear) {
-		return handleShortYearBeforeCutoff(cutoff, shortYear);
+	public int handleShortYearOnCutoff(int cutoffYear, int shortYear, int cutoffRange) {
+		return handleShortYearBeforeCutoff(cutoffYear, shortYear, cutoffRange);
 	}
 }
\ No newline at end of file
@@ -0,0 +1,305 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 David Meersteiner
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.dm.javafx.time.util.year;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Parses compact ASCII date tokens like {@code yyMMdd}, {@code ddMMyy} or {@code yyyyMMdd},
+ * as found in logs and EDI messages, into primitive dates.
+ * <p>
+ * A token is loaded into a single {@code long} and validated and split into its fields
+ * with a few arithmetic operations on the whole {@code long} (SIMD within a register),
+ * instead of parsing every field on its own. Two-digit years are interpreted with the cutoff year
+ * and behaviour of a {@link YearCutoff}, which are captured when the parser is created.
+ * If the {@code YearCutoff} takes only one digit short years, two-digit years are taken as they are.
+ * <p>
+ * Dates are returned either packed into an {@code int} as {@code yyyy * 10000 + MM * 100 + dd},
+ * see {@link CompactDateParser#getYear(int)}, or as an epoch day, like {@link java.time.LocalDate#toEpochDay()}.
+ * Invalid tokens, including dates that don't exist, return {@link CompactDateParser#INVALID_PACKED_DATE}
+ * and {@link CompactDateParser#INVALID_EPOCH_DAY}.
+ * <p>
+ * Examples
+ * <code>
+ * CompactDateParser parser = new CompactDateParser(new YearCutoff(2020), CompactDateParser.Layout.YY_MM_DD);
+ * parser.parsePackedDate("991231".getBytes(), 0); // = 19991231
+ * parser.parseEpochDay("700101".getBytes(), 0);   // = 0
+ * parser.parsePackedDate("990231".getBytes(), 0); // = INVALID_PACKED_DATE
+ * </code>
+ * @author David Meersteiner
+ * @version 0.1.0
+ */
+public final class CompactDateParser {
+	
+	/**
+	 * The layout of a compact date token.
+	 */
+	public enum Layout {
+		/** Two-digit year, month, day, e.g. {@code 991231}. */
+		YY_MM_DD(6),
+		/** Day, month, two-digit year, e.g. {@code 311299}. */
+		DD_MM_YY(6),
+		/** Four-digit year, month, day, e.g. {@code 19991231}. */
+		YYYY_MM_DD(8);
+		
+		private final int length;
+		
+		private Layout(int length) {
+			this.length = length;
+		}
+		
+		/**
+		 * @return the number of bytes of a token
+		 */
+		public int getLength() {
+			return length;
+		}
+	}
+	
+	/**
+	 * Returned by the {@code parsePackedDate} methods for invalid tokens.
+	 * <p>
+	 * Current value = {@value}
+	 */
+	public static final int INVALID_PACKED_DATE = -1;
+	
+	/**
+	 * Returned by the {@code parseEpochDay} methods for invalid tokens.
+	 * <p>
+	 * Current value = {@value}
+	 */
+	public static final long INVALID_EPOCH_DAY = Long.MIN_VALUE;
+	
+	private static final long ZEROS = 0x3030303030303030L;
+	private static final long HIGH_NIBBLES = 0xF0F0F0F0F0F0F0F0L;
+	private static final long NINE_TO_FIFTEEN = 0x0606060606060606L;
+	private static final long PAIR_LANES = 0x00FF00FF00FF00FFL;
+	private static final long SHORT_TOKEN_PREFIX = 0x3030L;
+	private static final int DAYS_0000_TO_1970 = 719528;
+	private static final int[] TWO_DIGIT_YEARS = new int[100];
+	static {
+		for (int year = 0; year < TWO_DIGIT_YEARS.length; year++) {
+			TWO_DIGIT_YEARS[year] = year;
+		}
+	}
+	
+	private final int[] shortYearTable;
+	private final Layout layout;
+	
+	/**
+	 * Creates a new parser.
+	 * @param cutoff the year cutoff, whose current cutoff year and behaviour are used for two-digit years
+	 * @param layout the layout of the tokens
+	 */
+	public CompactDateParser(AbstractYearCutoff cutoff, Layout layout) {
+		if (layout == null) {
+			throw new NullPointerException("layout");
+		}
+		this.shortYearTable = cutoff.getShortYearDigits() >= 2 ? cutoff.getShortYearTable() : TWO_DIGIT_YEARS;
+		this.layout = layout;
+	}
+	
+	/* CLASS METHODS */
+	
+	/**
+	 * Parses the token starting at the given index of an array.
+	 * @param token the array containing the token
+	 * @param offset the index of the first byte of the token
+	 * @return the packed date, or {@link CompactDateParser#INVALID_PACKED_DATE}
+	 */
+	public int parsePackedDate(byte[] token, int offset) {
+		return toPackedDate(load(token, offset));
+	}
+	
+	/**
+	 * Parses the token starting at the given index of a buffer, using absolute indices.
+	 * @param token the buffer containing the token
+	 * @param offset the index of the first byte of the token
+	 * @return the packed date, or {@link CompactDateParser#INVALID_PACKED_DATE}
+	 */
+	public int parsePackedDate(ByteBuffer token, int offset) {
+		return toPackedDate(load(token, offset));
+	}
+	
+	/**
+	 * Parses the token starting at the given index of an array.
+	 * @param token the array containing the token
+	 * @param offset the index of the first byte of the token
+	 * @return the epoch day, or {@link CompactDateParser#INVALID_EPOCH_DAY}
+	 */
+	public long parseEpochDay(byte[] token, int offset) {
+		return toEpochDay(toPackedDate(load(token, offset)));
+	}
+	
+	/**
+	 * Parses the token starting at the given index of a buffer, using absolute indices.
+	 * @param token the buffer containing the token
+	 * @param offset the index of the first byte of the token
+	 * @return the epoch day, or {@link CompactDateParser#INVALID_EPOCH_DAY}
+	 */
+	public long parseEpochDay(ByteBuffer token, int offset) {
+		return toEpochDay(toPackedDate(load(token, offset)));
+	}
+	
+	/**
+	 * @return the layout of the tokens
+	 */
+	public Layout getLayout() {
+		return layout;
+	}
+	
+	/* PACKED DATES */
+	
+	/**
+	 * @param packedDate a packed date
+	 * @return the year of the packed date
+	 */
+	public static int getYear(int packedDate) {
+		return packedDate / 10000;
+	}
+	
+	/**
+	 * @param packedDate a packed date
+	 * @return the month of the packed date, from 1 to 12
+	 */
+	public static int getMonth(int packedDate) {
+		return packedDate / 100 % 100;
+	}
+	
+	/**
+	 * @param packedDate a packed date
+	 * @return the day of the packed date, from 1 to 31
+	 */
+	public static int getDay(int packedDate) {
+		return packedDate % 100;
+	}
+	
+	/**
+	 * Converts a packed date into an epoch day, like {@link java.time.LocalDate#toEpochDay()}.
+	 * @param packedDate a valid packed date, or {@link CompactDateParser#INVALID_PACKED_DATE}
+	 * @return the epoch day, or {@link CompactDateParser#INVALID_EPOCH_DAY}
+	 */
+	public static long toEpochDay(int packedDate) {
+		if (packedDate == INVALID_PACKED_DATE) {
+			return INVALID_EPOCH_DAY;
+		}
+		long year = getYear(packedDate);
+		int month = getMonth(packedDate);
+		long total = 365 * year + (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400;
+		total += (367 * month - 362) / 12;
+		total += getDay(packedDate) - 1;
+		if (month > 2) {
+			total--;
+			if (!isLeapYear(year)) {
+				total--;
+			}
+		}
+		return total - DAYS_0000_TO_1970;
+	}
+	
+	/* UTILITY FUNCTIONS */
+	
+	/**
+	 * Loads a token big-endian into a {@code long}, six-byte tokens are prefixed with two {@code '0'}s.
+	 */
+	private long load(byte[] token, int offset) {
+		int length = layout.getLength();
+		if (offset < 0 || offset > token.length - length) {
+			throw new IndexOutOfBoundsException("offset " + offset + ", length " + token.length);
+		}
+		long value = length == 8 ? 0 : SHORT_TOKEN_PREFIX;
+		for (int i = 0; i < length; i++) {
+			value = value << 8 | token[offset + i] & 0xFF;
+		}
+		return value;
+	}
+	
+	private long load(ByteBuffer token, int offset) {
+		int length = layout.getLength();
+		if (offset < 0 || offset > token.limit() - length) {
+			throw new IndexOutOfBoundsException("offset " + offset + ", limit " + token.limit());
+		}
+		long value = length == 8 ? 0 : SHORT_TOKEN_PREFIX;
+		for (int i = 0; i < length; i++) {
+			value = value << 8 | token.get(offset + i) & 0xFF;
+		}
+		return value;
+	}
+	
+	/**
+	 * Validates and splits a loaded token.
+	 */
+	private int toPackedDate(long token) {
+		// all high nibbles are 3 and adding 6 doesn't carry into them, so all bytes are in '0'..'9'
+		if ((token & HIGH_NIBBLES) != ZEROS || ((token + NINE_TO_FIFTEEN) & HIGH_NIBBLES) != ZEROS) {
+			return INVALID_PACKED_DATE;
+		}
+		long digits = token - ZEROS;
+		// combine neighbouring digits into four lanes of two digits each, the first lane holds the first pair
+		long pairs = ((digits >>> 8) * 10 + digits) & PAIR_LANES;
+		int first = (int) (pairs >>> 48);
+		int second = (int) (pairs >>> 32) & 0xFF;
+		int third = (int) (pairs >>> 16) & 0xFF;
+		int fourth = (int) pairs & 0xFF;
+		int year;
+		int month = third;
+		int day;
+		switch (layout) {
+			case YY_MM_DD:
+				year = shortYearTable[second];
+				day = fourth;
+				break;
+			case DD_MM_YY:
+				day = second;
+				year = shortYearTable[fourth];
+				break;
+			default:
+				year = first * 100 + second;
+				day = fourth;
+		}
+		if (year < 0 || year > 9999 || month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)) {
+			return INVALID_PACKED_DATE;
+		}
+		return year * 10000 + month * 100 + day;
+	}
+	
+	private static int lengthOfMonth(int year, int month) {
+		switch (month) {
+			case 2:
+				return isLeapYear(year) ? 29 : 28;
+			case 4:
+			case 6:
+			case 9:
+			case 11:
+				return 30;
+			default:
+				return 31;
+		}
+	}
+	
+	private static boolean isLeapYear(long year) {
+		return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+	}
+}
@@ -0,0 +1,223 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 David Meersteiner
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.dm.javafx.time.util.year;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Parses years from fixed-width ASCII fields at a known offset in fixed-length records,
+ * e.g. the columns of a mainframe extract.
+ * <p>
+ * Every field has to consist of exactly {@code fieldWidth} digits, without sign or whitespace.
+ * Fields of two and four digits are validated and converted as a whole, by loading them into a single
+ * {@code int} and checking all digits at once, instead of looping over the characters.
+ * Fields up to {@link YearCutoff#getShortYearDigits()} digits are short years
+ * and interpreted with the cutoff year and behaviour of a {@link YearCutoff},
+ * which are captured when the parser is created. Longer fields are taken as they are.
+ * <p>
+ * Results are written like {@link ShortYearInterpreter#interpretAll(CharSequence[], int[], long[])} does.
+ * 
+ * @author David Meersteiner
+ * @version 0.1.0
+ */
+public final class FixedWidthYearParser {
+	
+	/**
+	 * The maximal width of a field.
+	 * <p>
+	 * Current value = {@value}
+	 */
+	public static final int MAX_FIELD_WIDTH = 9;
+	
+	private static final int ZEROS = 0x30303030;
+	private static final int HIGH_NIBBLES = 0xF0F0F0F0;
+	private static final int NINE_TO_FIFTEEN = 0x06060606;
+	
+	private final int[] shortYearTable;
+	private final int fieldWidth;
+	private final boolean shortYears;
+	
+	/**
+	 * Creates a new parser.
+	 * @param cutoff the year cutoff, whose current cutoff year and behaviour are used
+	 * @param fieldWidth the number of digits of every field, from 1 to {@link FixedWidthYearParser#MAX_FIELD_WIDTH}
+	 */
+	public FixedWidthYearParser(AbstractYearCutoff cutoff, int fieldWidth) {
+		if (fieldWidth < 1 || fieldWidth > MAX_FIELD_WIDTH) {
+			throw new IllegalArgumentException("field width out of range: " + fieldWidth);
+		}
+		this.shortYearTable = cutoff.getShortYearTable();
+		this.fieldWidth = fieldWidth;
+		this.shortYears = fieldWidth <= cutoff.getShortYearDigits();
+	}
+	
+	/**
+	 * Parses the year field of every record in an array.
+	 * @param records the records
+	 * @param offset the index of the first record
+	 * @param recordLength the length of every record
+	 * @param fieldOffset the offset of the year field within every record
+	 * @param count the number of records
+	 * @param years the array receiving the years, at least {@code count} long
+	 * @param errors the error bitmap, at least {@code (count + 63) / 64} long
+	 * @return the number of fields, which couldn't be parsed
+	 */
+	public int parseAll(byte[] records, int offset, int recordLength, int fieldOffset, int count,
+			int[] years, long[] errors) {
+		checkRecords(records.length, offset, recordLength, fieldOffset, count, years, errors);
+		long word = 0;
+		int position = offset + fieldOffset;
+		for (int i = 0; i < count; i++, position += recordLength) {
+			int year;
+			switch (fieldWidth) {
+				case 2:
+					year = parse2(records[position], records[position + 1]);
+					break;
+				case 4:
+					year = parse4((records[position] & 0xFF) << 24 | (records[position + 1] & 0xFF) << 16
+							| (records[position + 2] & 0xFF) << 8 | records[position + 3] & 0xFF);
+					break;
+				default:
+					year = parseN(records, position);
+			}
+			years[i] = year < 0 ? 0 : shortYears ? shortYearTable[year] : year;
+			word = YearBatch.collectError(errors, 0, count, i, word, year < 0);
+		}
+		return YearBatch.countErrors(errors, 0, count);
+	}
+	
+	/**
+	 * Parses the year field of every record in a buffer, using absolute indices,
+	 * so neither the position nor the limit of the buffer change.
+	 * @param records the records
+	 * @param offset the index of the first record
+	 * @param recordLength the length of every record
+	 * @param fieldOffset the offset of the year field within every record
+	 * @param count the number of records
+	 * @param years the array receiving the years, at least {@code count} long
+	 * @param errors the error bitmap, at least {@code (count + 63) / 64} long
+	 * @return the number of fields, which couldn't be parsed
+	 */
+	public int parseAll(ByteBuffer records, int offset, int recordLength, int fieldOffset, int count,
+			int[] years, long[] errors) {
+		if (records.hasArray()) {
+			checkRecords(records.limit(), offset, recordLength, fieldOffset, count, years, errors);
+			return parseAll(records.array(), records.arrayOffset() + offset, recordLength, fieldOffset, count, years, errors);
+		}
+		checkRecords(records.limit(), offset, recordLength, fieldOffset, count, years, errors);
+		boolean littleEndian = records.order() == ByteOrder.LITTLE_ENDIAN;
+		long word = 0;
+		int position = offset + fieldOffset;
+		for (int i = 0; i < count; i++, position += recordLength) {
+			int year;
+			switch (fieldWidth) {
+				case 2:
+					year = parse2(records.get(position), records.get(position + 1));
+					break;
+				case 4:
+					int field = records.getInt(position);
+					year = parse4(littleEndian ? Integer.reverseBytes(field) : field);
+					break;
+				default:
+					year = parseN(records, position);
+			}
+			years[i] = year < 0 ? 0 : shortYears ? shortYearTable[year] : year;
+			word = YearBatch.collectError(errors, 0, count, i, word, year < 0);
+		}
+		return YearBatch.countErrors(errors, 0, count);
+	}
+	
+	/**
+	 * @return the number of digits of every field
+	 */
+	public int getFieldWidth() {
+		return fieldWidth;
+	}
+	
+	/* UTILITY FUNCTIONS */
+	
+	/**
+	 * Parses two ASCII digits without branching.
+	 * @return the value, or a negative number, if one of the bytes isn't a digit
+	 */
+	private static int parse2(byte first, byte second) {
+		int tens = first - '0';
+		int ones = second - '0';
+		// negative, if any digit is below 0 or above 9
+		int invalid = (tens | ones | 9 - tens | 9 - ones) >> 31;
+		return (tens * 10 + ones) | invalid;
+	}
+	
+	/**
+	 * Parses four ASCII digits packed big-endian into an {@code int}, checking and converting all of them at once.
+	 * @return the value, or a negative number, if one of the bytes isn't a digit
+	 */
+	private static int parse4(int field) {
+		// all high nibbles are 3 and adding 6 doesn't carry into them, so all bytes are in '0'..'9'
+		if ((field & HIGH_NIBBLES) != ZEROS || ((field + NINE_TO_FIFTEEN) & HIGH_NIBBLES) != ZEROS) {
+			return -1;
+		}
+		int digits = field - ZEROS;
+		// combine neighbouring digits into two lanes of two digits each
+		int pairs = ((digits >>> 8) * 10 + digits) & 0x00FF00FF;
+		return (pairs >>> 16) * 100 + (pairs & 0xFF);
+	}
+	
+	private int parseN(byte[] records, int position) {
+		int value = 0;
+		int invalid = 0;
+		for (int i = 0; i < fieldWidth; i++) {
+			int digit = records[position + i] - '0';
+			invalid |= digit | 9 - digit;
+			value = value * 10 + digit;
+		}
+		return value | invalid >> 31;
+	}
+	
+	private int parseN(ByteBuffer records, int position) {
+		int value = 0;
+		int invalid = 0;
+		for (int i = 0; i < fieldWidth; i++) {
+			int digit = records.get(position + i) - '0';
+			invalid |= digit | 9 - digit;
+			value = value * 10 + digit;
+		}
+		return value | invalid >> 31;
+	}
+	
+	private void checkRecords(int length, int offset, int recordLength, int fieldOffset, int count,
+			int[] years, long[] errors) {
+		if (count < 0 || offset < 0 || fieldOffset < 0 || fieldOffset + fieldWidth > recordLength) {
+			throw new IllegalArgumentException("invalid record layout: offset " + offset + ", record length "
+					+ recordLength + ", field offset " + fieldOffset + ", count " + count);
+		}
+		YearBatch.checkRange(0, count, count, years, errors);
+		if (count > 0 && offset + (long) (count - 1) * recordLength + fieldOffset + fieldWidth > length) {
+			throw new IndexOutOfBoundsException("records too short: " + count + " records of " + recordLength
+					+ " bytes at offset " + offset + ", length " + length);
+		}
+	}
+}
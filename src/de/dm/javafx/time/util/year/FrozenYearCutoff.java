@@ -0,0 +1,351 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 David Meersteiner
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.dm.javafx.time.util.year;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.function.IntUnaryOperator;
+
+import de.dm.javafx.time.exception.NumberParseException;
+
+/**
+ * An immutable snapshot of the configuration of a {@link YearCutoff}, created by {@link YearCutoff#freeze()}.
+ * <p>
+ * The snapshot captures the cutoff year and behaviour in final fields
+ * and interprets short years like the {@code YearCutoff} did at the time it was frozen.
+ * It doesn't read any properties, so a single instance can be shared by any number of threads
+ * without locking, while the {@code YearCutoff} may still be changed, e.g. by the UI.
+ * 
+ * @author David Meersteiner
+ * @version 0.1.0
+ */
+public final class FrozenYearCutoff implements ShortYearInterpreter {
+	
+	private final int cutoffYear;
+	private final YearCutoffBehaviour behaviour;
+	private final int shortYearDigits;
+	private final int[] shortYearTable;
+	
+	/**
+	 * Creates a new snapshot.
+	 * @param cutoffYear the cutoff year
+	 * @param behaviour the behaviour
+	 * @param shortYearDigits the maximal number of digits of a short year
+	 * @param shortYearTable the short year table of the cutoff year and behaviour, which must never be modified
+	 */
+	FrozenYearCutoff(int cutoffYear, YearCutoffBehaviour behaviour, int shortYearDigits, int[] shortYearTable) {
+		this.cutoffYear = cutoffYear;
+		this.behaviour = behaviour;
+		this.shortYearDigits = shortYearDigits;
+		this.shortYearTable = shortYearTable;
+	}
+	
+	/* FACTORIES */
+	
+	/**
+	 * Returns the canonical snapshot of the given cutoff year, with the default behaviour.
+	 * For more information see {@link FrozenYearCutoff#of(int, YearCutoffBehaviour, int)}.
+	 * @param cutoffYear the cutoff year
+	 * @return the canonical snapshot
+	 */
+	public static FrozenYearCutoff of(int cutoffYear) {
+		return of(cutoffYear, null);
+	}
+	
+	/**
+	 * Returns the canonical snapshot of the given cutoff year and behaviour.
+	 * For more information see {@link FrozenYearCutoff#of(int, YearCutoffBehaviour, int)}.
+	 * @param cutoffYear the cutoff year
+	 * @param behaviour the behaviour, or {@code null} for the default behaviour
+	 * @return the canonical snapshot
+	 */
+	public static FrozenYearCutoff of(int cutoffYear, YearCutoffBehaviour behaviour) {
+		return of(cutoffYear, behaviour, AbstractYearCutoff.MAX_SHORTYEAR_DIGITS);
+	}
+	
+	/**
+	 * Returns the canonical snapshot of the given cutoff year, behaviour and number of short year digits.
+	 * <p>
+	 * Snapshots are immutable, so the same instance can be shared by any number of users, e.g. by every cell
+	 * of a table, instead of creating a {@link YearCutoff} with its own property for each of them.
+	 * Recently used snapshots are kept in a bounded cache and returned again, as long as they are in use.
+	 * Behaviours are compared by identity, so the same behaviour instance has to be passed to share snapshots.
+	 * A cached snapshot is returned without creating any objects.
+	 * @param cutoffYear the cutoff year
+	 * @param behaviour the behaviour, or {@code null} for the default behaviour
+	 * @param shortYearDigits the maximal number of digits of a short year, see {@link YearCutoff#YearCutoff(int, int)}
+	 * @return the canonical snapshot
+	 */
+	public static FrozenYearCutoff of(int cutoffYear, YearCutoffBehaviour behaviour, int shortYearDigits) {
+		return FrozenYearCutoffCache.get(cutoffYear, behaviour, shortYearDigits);
+	}
+	
+	/* CLASS METHODS */
+	
+	/**
+	 * Interprets a {@code String}, which may contain a short year, to get a long year.
+	 * For more information see {@link YearCutoff#interpret(String)}.
+	 * @throws NumberParseException if the parameter couldn't be parsed, e.g. because it didn't contain a year.
+	 * @return the year parsed and interpreted from the {@code String}
+	 */
+	@Override
+	public int interpret(String shortYear) throws NumberParseException {
+		return interpret(shortYear, 0, shortYear.length());
+	}
+	
+	/**
+	 * Interprets a range of a {@code CharSequence}, which may contain a short year, to get a long year.
+	 * For more information see {@link YearCutoff#interpret(CharSequence, int, int)}.
+	 * @param shortYear the sequence containing the possible short year
+	 * @param start the start index, inclusive
+	 * @param end the end index, exclusive
+	 * @throws NumberParseException if the range couldn't be parsed, e.g. because it didn't contain a year.
+	 * @return the year parsed and interpreted from the range
+	 */
+	@Override
+	public int interpret(CharSequence shortYear, int start, int end) throws NumberParseException {
+		long result = tryInterpret(shortYear, start, end);
+		if (!YearParseResult.isOk(result)) {
+			throw YearParser.toException(shortYear, start, end);
+		}
+		return YearParseResult.getYear(result);
+	}
+	
+	/**
+	 * Interprets a range of a UTF-8 encoded {@code byte} array, which may contain a short year, to get a long year.
+	 * For more information see {@link YearCutoff#interpret(byte[], int, int)}.
+	 * @param shortYear the array containing the possible short year
+	 * @param offset the index of the first byte
+	 * @param length the number of bytes
+	 * @throws NumberParseException if the range couldn't be parsed, e.g. because it didn't contain a year.
+	 * @return the year parsed and interpreted from the range
+	 */
+	public int interpret(byte[] shortYear, int offset, int length) throws NumberParseException {
+		long result = tryInterpret(shortYear, offset, length);
+		if (!YearParseResult.isOk(result)) {
+			throw YearParser.toException(shortYear, offset, length);
+		}
+		return YearParseResult.getYear(result);
+	}
+	
+	/**
+	 * Interprets a range of a UTF-8 encoded {@code ByteBuffer}, which may contain a short year, to get a long year.
+	 * For more information see {@link YearCutoff#interpret(ByteBuffer, int, int)}.
+	 * @param shortYear the buffer containing the possible short year
+	 * @param offset the index of the first byte
+	 * @param length the number of bytes
+	 * @throws NumberParseException if the range couldn't be parsed, e.g. because it didn't contain a year.
+	 * @return the year parsed and interpreted from the range
+	 */
+	public int interpret(ByteBuffer shortYear, int offset, int length) throws NumberParseException {
+		long result = tryInterpret(shortYear, offset, length);
+		if (!YearParseResult.isOk(result)) {
+			throw YearParser.toException(shortYear, offset, length);
+		}
+		return YearParseResult.getYear(result);
+	}
+	
+	/**
+	 * Interprets a range of a {@code CharSequence}, which may contain a short year, to get a long year,
+	 * without throwing an exception. For more information see {@link YearCutoff#tryInterpret(CharSequence, int, int)}.
+	 * @param shortYear the sequence containing the possible short year
+	 * @param start the start index, inclusive
+	 * @param end the end index, exclusive
+	 * @return the result holding the interpreted year or the reason of the failure, see {@link YearParseResult}
+	 */
+	@Override
+	public long tryInterpret(CharSequence shortYear, int start, int end) {
+		return YearBatch.interpret(shortYearTable, shortYearDigits, YearParser.parse(shortYear, start, end));
+	}
+	
+	/**
+	 * Interprets a range of a UTF-8 encoded {@code byte} array, which may contain a short year, to get a long year,
+	 * without throwing an exception. For more information see {@link YearCutoff#tryInterpret(byte[], int, int)}.
+	 * @param shortYear the array containing the possible short year
+	 * @param offset the index of the first byte
+	 * @param length the number of bytes
+	 * @return the result holding the interpreted year or the reason of the failure, see {@link YearParseResult}
+	 */
+	public long tryInterpret(byte[] shortYear, int offset, int length) {
+		return YearBatch.interpret(shortYearTable, shortYearDigits, YearParser.parse(shortYear, offset, length));
+	}
+	
+	/**
+	 * Interprets a range of a UTF-8 encoded {@code ByteBuffer}, which may contain a short year, to get a long year,
+	 * without throwing an exception. For more information see {@link YearCutoff#tryInterpret(ByteBuffer, int, int)}.
+	 * @param shortYear the buffer containing the possible short year
+	 * @param offset the index of the first byte
+	 * @param length the number of bytes
+	 * @return the result holding the interpreted year or the reason of the failure, see {@link YearParseResult}
+	 */
+	public long tryInterpret(ByteBuffer shortYear, int offset, int length) {
+		return YearBatch.interpret(shortYearTable, shortYearDigits, YearParser.parse(shortYear, offset, length));
+	}
+	
+	/**
+	 * Interprets a batch of {@code CharSequence}s, which may contain short years, to get long years,
+	 * without throwing an exception for inputs that aren't years.
+	 * For more information see {@link ShortYearInterpreter#interpretAll(CharSequence[], int[], long[])}.
+	 * @param shortYears the possible short years
+	 * @param years the array receiving the years, at least as long as the batch
+	 * @param errors the error bitmap, at least {@code (shortYears.length + 63) / 64} long
+	 * @return the number of inputs, which couldn't be interpreted
+	 */
+	@Override
+	public int interpretAll(CharSequence[] shortYears, int[] years, long[] errors) {
+		return YearBatch.interpretAll(shortYearTable, shortYearDigits, shortYears, 0, shortYears.length, years, errors);
+	}
+	
+	/**
+	 * Interprets a batch of {@code CharSequence}s, which may contain short years, to get long years,
+	 * without throwing an exception for inputs that aren't years.
+	 * For more information see {@link ShortYearInterpreter#interpretAll(CharSequence[], int[], long[])}.
+	 * @param shortYears the possible short years
+	 * @param years the array receiving the years, at least as long as the batch
+	 * @param errors the error bitmap, at least {@code (shortYears.size() + 63) / 64} long
+	 * @return the number of inputs, which couldn't be interpreted
+	 */
+	@Override
+	public int interpretAll(List<? extends CharSequence> shortYears, int[] years, long[] errors) {
+		return YearBatch.interpretAll(shortYearTable, shortYearDigits, shortYears, 0, shortYears.size(), years, errors);
+	}
+	
+	/**
+	 * Compiles the cutoff year and behaviour into a function mapping short years to long years.
+	 * For more information see {@link YearCutoff#compile()}.
+	 * @return the mapping function
+	 */
+	public IntUnaryOperator compile() {
+		return new ShortYearTableMapper(shortYearTable);
+	}
+	
+	/**
+	 * Abbreviates a long year to a short year. For more information see {@link AbstractYearCutoff#abbreviate(int)}.
+	 * @param longYear the long year
+	 * @return the short year, or {@code -1}, if the long year can't be read back from it
+	 */
+	public int abbreviate(int longYear) {
+		return YearAbbreviator.abbreviate(shortYearTable, longYear);
+	}
+	
+	/**
+	 * Abbreviates a long year and appends the short year with leading zeros.
+	 * For more information see {@link AbstractYearCutoff#abbreviate(int, Appendable)}.
+	 * @param longYear the long year
+	 * @param out the destination
+	 * @return the number of characters appended, or {@code -1}, if the long year can't be read back from them
+	 * @throws IOException if the destination throws it
+	 */
+	public int abbreviate(int longYear, Appendable out) throws IOException {
+		return YearAbbreviator.abbreviate(shortYearTable, shortYearDigits, longYear, out);
+	}
+	
+	/**
+	 * Abbreviates a long year and writes the short year with leading zeros into a {@code char} array.
+	 * For more information see {@link AbstractYearCutoff#abbreviate(int, char[], int)}.
+	 * @param longYear the long year
+	 * @param out the destination
+	 * @param offset the index of the first character to write
+	 * @return the number of characters written, or {@code -1}, if the long year can't be read back from them
+	 */
+	public int abbreviate(int longYear, char[] out, int offset) {
+		return YearAbbreviator.abbreviate(shortYearTable, shortYearDigits, longYear, out, offset);
+	}
+	
+	/**
+	 * Abbreviates a long year and writes the short year with leading zeros as ASCII digits into a {@code byte} array.
+	 * For more information see {@link AbstractYearCutoff#abbreviate(int, byte[], int)}.
+	 * @param longYear the long year
+	 * @param out the destination
+	 * @param offset the index of the first byte to write
+	 * @return the number of bytes written, or {@code -1}, if the long year can't be read back from them
+	 */
+	public int abbreviate(int longYear, byte[] out, int offset) {
+		return YearAbbreviator.abbreviate(shortYearTable, shortYearDigits, longYear, out, offset);
+	}
+	
+	/**
+	 * Abbreviates a batch of long years to short years.
+	 * For more information see {@link AbstractYearCutoff#abbreviateAll(int[], int[], long[])}.
+	 * @param longYears the long years
+	 * @param shortYears the array receiving the short years, at least as long as the batch
+	 * @param errors the error bitmap, at least {@code (longYears.length + 63) / 64} long
+	 * @return the number of long years, which couldn't be abbreviated
+	 */
+	public int abbreviateAll(int[] longYears, int[] shortYears, long[] errors) {
+		return YearAbbreviator.abbreviateAll(shortYearTable, longYears, 0, longYears.length, shortYears, errors);
+	}
+	
+	/**
+	 * Abbreviates a range of a batch of long years into fixed-width fields of ASCII digits.
+	 * For more information see {@link AbstractYearCutoff#abbreviateAll(int[], int, int, byte[], int, long[])}.
+	 * @param longYears the long years
+	 * @param from the first index, inclusive
+	 * @param to the last index, exclusive
+	 * @param out the array receiving the fields
+	 * @param offset the index of the first field
+	 * @param errors the error bitmap
+	 * @return the number of long years in the range, which couldn't be abbreviated
+	 */
+	public int abbreviateAll(int[] longYears, int from, int to, byte[] out, int offset, long[] errors) {
+		return YearAbbreviator.abbreviateAll(shortYearTable, shortYearDigits, longYears, from, to, out, offset, errors);
+	}
+	
+	/* GETTER */
+	
+	/**
+	 * @return the cutoff year at the time of the snapshot
+	 */
+	public int getCutoffYear() {
+		return cutoffYear;
+	}
+	
+	/**
+	 * @return the behaviour at the time of the snapshot, never {@code null}
+	 */
+	public YearCutoffBehaviour getBehaviour() {
+		return behaviour;
+	}
+	
+	/**
+	 * @return the maximal number of digits of a short year
+	 */
+	public int getShortYearDigits() {
+		return shortYearDigits;
+	}
+	
+	/**
+	 * @return the short year table, which must never be modified
+	 */
+	int[] getShortYearTable() {
+		return shortYearTable;
+	}
+	
+	@Override
+	public String toString() {
+		return "FrozenYearCutoff[cutoffYear=" + cutoffYear + ", behaviour=" + behaviour.getClass().getName() + "]";
+	}
+}
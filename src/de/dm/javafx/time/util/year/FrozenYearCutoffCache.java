@@ -0,0 +1,123 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 David Meersteiner
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.dm.javafx.time.util.year;
+
+import java.lang.ref.WeakReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded cache of canonical {@link FrozenYearCutoff}s, used by {@link FrozenYearCutoff#of(int, YearCutoffBehaviour, int)}.
+ * <p>
+ * The cache holds at most {@link FrozenYearCutoffCache#MAX_ENTRIES} configurations and drops the least recently used one.
+ * Snapshots are weakly referenced, so they are collected, once no one uses them anymore.
+ * Looking up a cached snapshot doesn't create any objects.
+ * 
+ * @author David Meersteiner
+ * @version 0.1.0
+ */
+final class FrozenYearCutoffCache {
+	
+	/**
+	 * The maximal number of cached configurations.
+	 * <p>
+	 * Current value = {@value}
+	 */
+	static final int MAX_ENTRIES = 64;
+	
+	private static final Map<Key, WeakReference<FrozenYearCutoff>> cache =
+			new LinkedHashMap<Key, WeakReference<FrozenYearCutoff>>(16, 0.75f, true) {
+				private static final long serialVersionUID = 1L;
+				
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<Key, WeakReference<FrozenYearCutoff>> eldest) {
+					return size() > MAX_ENTRIES;
+				}
+			};
+	
+	// only used while holding the lock of the cache
+	private static final Key probe = new Key();
+	
+	private FrozenYearCutoffCache() {
+		// utility class
+	}
+	
+	/**
+	 * Returns the canonical snapshot of a configuration, creating it if necessary.
+	 * @param cutoffYear the cutoff year
+	 * @param behaviour the behaviour, or {@code null} for the default behaviour
+	 * @param shortYearDigits the maximal number of digits of a short year
+	 * @return the canonical snapshot
+	 */
+	static FrozenYearCutoff get(int cutoffYear, YearCutoffBehaviour behaviour, int shortYearDigits) {
+		synchronized (cache) {
+			probe.set(cutoffYear, behaviour, shortYearDigits);
+			WeakReference<FrozenYearCutoff> reference = cache.get(probe);
+			probe.set(0, null, 0);
+			FrozenYearCutoff frozen = reference == null ? null : reference.get();
+			if (frozen == null) {
+				SimpleYearCutoff cutoff = new SimpleYearCutoff(cutoffYear, shortYearDigits);
+				cutoff.setBehaviour(behaviour);
+				frozen = cutoff.freeze();
+				Key key = new Key();
+				key.set(cutoffYear, behaviour, shortYearDigits);
+				cache.put(key, new WeakReference<>(frozen));
+			}
+			return frozen;
+		}
+	}
+	
+	/**
+	 * The key of a configuration. Behaviours are compared by identity.
+	 */
+	private static final class Key {
+		
+		private int cutoffYear;
+		private YearCutoffBehaviour behaviour;
+		private int shortYearDigits;
+		
+		private void set(int cutoffYear, YearCutoffBehaviour behaviour, int shortYearDigits) {
+			this.cutoffYear = cutoffYear;
+			this.behaviour = behaviour;
+			this.shortYearDigits = shortYearDigits;
+		}
+		
+		@Override
+		public int hashCode() {
+			return (cutoffYear * 31 + shortYearDigits) * 31 + System.identityHashCode(behaviour);
+		}
+		
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return cutoffYear == other.cutoffYear
+					&& behaviour == other.behaviour
+					&& shortYearDigits == other.shortYearDigits;
+		}
+	}
+}
@@ -0,0 +1,75 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 David Meersteiner
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.dm.javafx.time.util.year;
+
+import de.dm.javafx.time.util.year.AbstractYearCutoff.YearArgument;
+
+/**
+ * Class to handle cutoff behaviour, which never places a short year before the cutoff year,
+ * e.g. for expiry dates with the current year as cutoff year.
+ * <p>
+ * Short years are placed in between the cutoff year and 99 years after it, both inclusive.
+ * <p>
+ * Examples
+ * <code>
+ * YearCutoff yc = new YearCutoff(2020);
+ * yc.setBehaviour(new FutureYearCutoffHandler());
+ * yc.interpret("10"); 	   // = 2110
+ * yc.interpret("20"); 	   // = 2020
+ * yc.interpret("30"); 	   // = 2030
+ * </code>
+ * 
+ * @author David Meersteiner
+ * @version 0.1.0
+ */
+public class FutureYearCutoffHandler implements IntYearCutoffBehaviour {
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int handleShortYearBeforeCutoff(int cutoffYear, int shortYear, int cutoffRange) {
+		return YearArgument.getEpoch(cutoffYear, cutoffRange)
+				+ cutoffRange
+				+ YearArgument.getEpochOffset(shortYear, cutoffRange);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int handleShortYearAfterCutoff(int cutoffYear, int shortYear, int cutoffRange) {
+		return YearArgument.getEpoch(cutoffYear, cutoffRange)
+				+ YearArgument.getEpochOffset(shortYear, cutoffRange);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int handleShortYearOnCutoff(int cutoffYear, int shortYear, int cutoffRange) {
+		return handleShortYearAfterCutoff(cutoffYear, shortYear, cutoffRange);
+	}
+}
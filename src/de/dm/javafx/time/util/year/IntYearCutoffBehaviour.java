@@ -0,0 +1,190 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 David Meersteiner
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.dm.javafx.time.util.year;
+
+import de.dm.javafx.time.util.year.AbstractYearCutoff.YearArgument;
+
+/**
+ * A {@link YearCutoffBehaviour} working on primitive {@code int}s instead of objects.
+ * <p>
+ * Implementations only have to provide the primitive methods taking a cutoff range,
+ * the primitive methods without a range and the object based methods of {@link YearCutoffBehaviour}
+ * delegate to them.
+ * <p>
+ * Subclasses may still override a method of either object based set, e.g. of {@link BasicYearCutoffHandler},
+ * the same method of the other set then delegates to it, so every interpreter gives the same years.
+ * A method shouldn't be overridden in both sets, if the overrides call each other through {@code super}.
+ * 
+ * @author David Meersteiner
+ * @version 0.1.0
+ */
+public interface IntYearCutoffBehaviour extends YearCutoffBehaviour {
+	
+	/**
+	 * Handles a short year of an interpreter with the given cutoff range,
+	 * see {@link YearCutoff#getCutoffRange()}.
+	 * @param cutoffYear the cutoff year of the interpreter
+	 * @param shortYear the short year given to the interpreter
+	 * @param cutoffRange the cutoff range of the interpreter
+	 * @return the interpreted year for the given parameters
+	 */
+	int handleShortYearBeforeCutoff(int cutoffYear, int shortYear, int cutoffRange);
+	
+	/**
+	 * @see #handleShortYearBeforeCutoff(int, int, int)
+	 */
+	int handleShortYearAfterCutoff(int cutoffYear, int shortYear, int cutoffRange);
+	
+	/**
+	 * @see #handleShortYearBeforeCutoff(int, int, int)
+	 */
+	int handleShortYearOnCutoff(int cutoffYear, int shortYear, int cutoffRange);
+	
+	/**
+	 * Handles a short year of an interpreter with the default cutoff range of {@value AbstractYearCutoff#CUTOFF_RANGE}.
+	 * @param cutoffYear the cutoff year of the interpreter
+	 * @param shortYear the short year given to the interpreter
+	 * @return the interpreted year for the given parameters
+	 */
+	default int handleShortYearBeforeCutoff(int cutoffYear, int shortYear) {
+		return handleShortYearBeforeCutoff(cutoffYear, shortYear, AbstractYearCutoff.CUTOFF_RANGE);
+	}
+	
+	/**
+	 * @see #handleShortYearBeforeCutoff(int, int)
+	 */
+	default int handleShortYearAfterCutoff(int cutoffYear, int shortYear) {
+		return handleShortYearAfterCutoff(cutoffYear, shortYear, AbstractYearCutoff.CUTOFF_RANGE);
+	}
+	
+	/**
+	 * @see #handleShortYearBeforeCutoff(int, int)
+	 */
+	default int handleShortYearOnCutoff(int cutoffYear, int shortYear) {
+		return handleShortYearOnCutoff(cutoffYear, shortYear, AbstractYearCutoff.CUTOFF_RANGE);
+	}
+	
+	/**
+	 * Compares the short year with the offset of the cutoff year, like {@link YearCutoffCompareCheck} does,
+	 * and calls the matching method.
+	 * @param cutoffYear the cutoff year of the interpreter
+	 * @param shortYear the short year given to the interpreter
+	 * @return the interpreted year for the given parameters
+	 */
+	default int handleShortYear(int cutoffYear, int shortYear) {
+		return handleShortYear(cutoffYear, shortYear, AbstractYearCutoff.CUTOFF_RANGE);
+	}
+	
+	/**
+	 * Compares the short year with the offset of the cutoff year within the given cutoff range,
+	 * like {@link YearCutoffCompareCheck} does, and calls the matching method.
+	 * @param cutoffYear the cutoff year of the interpreter
+	 * @param shortYear the short year given to the interpreter
+	 * @param cutoffRange the cutoff range of the interpreter
+	 * @return the interpreted year for the given parameters
+	 */
+	default int handleShortYear(int cutoffYear, int shortYear, int cutoffRange) {
+		int cutoffOffset = YearArgument.getEpochOffset(cutoffYear, cutoffRange);
+		if (shortYear < cutoffOffset) {
+			return handleShortYearBeforeCutoff(cutoffYear, shortYear, cutoffRange);
+		} else if (shortYear > cutoffOffset) {
+			return handleShortYearAfterCutoff(cutoffYear, shortYear, cutoffRange);
+		} else {
+			return handleShortYearOnCutoff(cutoffYear, shortYear, cutoffRange);
+		}
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Calls {@link #handleShortYearBeforeCutoff(AbstractYearCutoff, YearArgument)}, if it is overridden,
+	 * otherwise the primitive method.
+	 */
+	@Override
+	default int handleShortYearBeforeCutoff(YearCutoff cutoff, YearArgument shortYear) {
+		if (AbstractYearCutoff.implementsAbstractYearCutoffMethod(this, AbstractYearCutoff.BEFORE_CUTOFF)) {
+			return handleShortYearBeforeCutoff((AbstractYearCutoff) cutoff, shortYear);
+		}
+		return handleShortYearBeforeCutoff(cutoff.getCutoffYear(), shortYear.getYearAsInt(), cutoff.getCutoffRange());
+	}
+	
+	/**
+	 * @see #handleShortYearBeforeCutoff(YearCutoff, YearArgument)
+	 */
+	@Override
+	default int handleShortYearAfterCutoff(YearCutoff cutoff, YearArgument shortYear) {
+		if (AbstractYearCutoff.implementsAbstractYearCutoffMethod(this, AbstractYearCutoff.AFTER_CUTOFF)) {
+			return handleShortYearAfterCutoff((AbstractYearCutoff) cutoff, shortYear);
+		}
+		return handleShortYearAfterCutoff(cutoff.getCutoffYear(), shortYear.getYearAsInt(), cutoff.getCutoffRange());
+	}
+	
+	/**
+	 * @see #handleShortYearBeforeCutoff(YearCutoff, YearArgument)
+	 */
+	@Override
+	default int handleShortYearOnCutoff(YearCutoff cutoff, YearArgument shortYear) {
+		if (AbstractYearCutoff.implementsAbstractYearCutoffMethod(this, AbstractYearCutoff.ON_CUTOFF)) {
+			return handleShortYearOnCutoff((AbstractYearCutoff) cutoff, shortYear);
+		}
+		return handleShortYearOnCutoff(cutoff.getCutoffYear(), shortYear.getYearAsInt(), cutoff.getCutoffRange());
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Calls {@link #handleShortYearBeforeCutoff(YearCutoff, YearArgument)}, if it is overridden,
+	 * so every interpreter honours it like a {@link YearCutoff} does, otherwise the primitive method.
+	 */
+	@Override
+	default int handleShortYearBeforeCutoff(AbstractYearCutoff cutoff, YearArgument shortYear) {
+		if (AbstractYearCutoff.implementsYearCutoffMethod(this, AbstractYearCutoff.BEFORE_CUTOFF)) {
+			return handleShortYearBeforeCutoff(YearCutoff.asYearCutoff(cutoff), shortYear);
+		}
+		return handleShortYearBeforeCutoff(cutoff.getCutoffYear(), shortYear.getYearAsInt(), cutoff.getCutoffRange());
+	}
+	
+	/**
+	 * @see #handleShortYearBeforeCutoff(AbstractYearCutoff, YearArgument)
+	 */
+	@Override
+	default int handleShortYearAfterCutoff(AbstractYearCutoff cutoff, YearArgument shortYear) {
+		if (AbstractYearCutoff.implementsYearCutoffMethod(this, AbstractYearCutoff.AFTER_CUTOFF)) {
+			return handleShortYearAfterCutoff(YearCutoff.asYearCutoff(cutoff), shortYear);
+		}
+		return handleShortYearAfterCutoff(cutoff.getCutoffYear(), shortYear.getYearAsInt(), cutoff.getCutoffRange());
+	}
+	
+	/**
+	 * @see #handleShortYearBeforeCutoff(AbstractYearCutoff, YearArgument)
+	 */
+	@Override
+	default int handleShortYearOnCutoff(AbstractYearCutoff cutoff, YearArgument shortYear) {
+		if (AbstractYearCutoff.implementsYearCutoffMethod(this, AbstractYearCutoff.ON_CUTOFF)) {
+			return handleShortYearOnCutoff(YearCutoff.asYearCutoff(cutoff), shortYear);
+		}
+		return handleShortYearOnCutoff(cutoff.getCutoffYear(), shortYear.getYearAsInt(), cutoff.getCutoffRange());
+	}
+}
\ No newline at end of file
@@ -0,0 +1,88 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 David Meersteiner
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.dm.javafx.time.util.year;
+
+import de.dm.javafx.time.util.year.AbstractYearCutoff.YearArgument;
+
+/**
+ * Class to handle cutoff behaviour, which places a short year as near as possible to the cutoff year,
+ * which acts as a reference year instead of a border.
+ * <p>
+ * Short years are placed in between 49 years before and 50 years after the cutoff year, both inclusive.
+ * For other cutoff ranges the window is split the same way, e.g. 4 years before and 5 years after for one digit.
+ * <p>
+ * Examples
+ * <code>
+ * YearCutoff yc = new YearCutoff(2020);
+ * yc.setBehaviour(new NearestYearCutoffHandler());
+ * yc.interpret("71"); 	   // = 1971
+ * yc.interpret("70"); 	   // = 2070
+ * yc.interpret("20"); 	   // = 2020
+ * </code>
+ * 
+ * @author David Meersteiner
+ * @version 0.1.0
+ */
+public class NearestYearCutoffHandler implements IntYearCutoffBehaviour {
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int handleShortYearBeforeCutoff(int cutoffYear, int shortYear, int cutoffRange) {
+		int epoch = YearArgument.getEpoch(cutoffYear, cutoffRange);
+		int epochOffset = YearArgument.getEpochOffset(shortYear, cutoffRange);
+		int yearsBefore = YearArgument.getEpochOffset(cutoffYear, cutoffRange) - epochOffset;
+		if (2 * yearsBefore < cutoffRange) {
+			return epoch + epochOffset;
+		} else {
+			return epoch + cutoffRange + epochOffset;
+		}
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int handleShortYearAfterCutoff(int cutoffYear, int shortYear, int cutoffRange) {
+		int epoch = YearArgument.getEpoch(cutoffYear, cutoffRange);
+		int epochOffset = YearArgument.getEpochOffset(shortYear, cutoffRange);
+		int yearsAfter = epochOffset - YearArgument.getEpochOffset(cutoffYear, cutoffRange);
+		if (2 * yearsAfter <= cutoffRange) {
+			return epoch + epochOffset;
+		} else {
+			return epoch - cutoffRange + epochOffset;
+		}
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int handleShortYearOnCutoff(int cutoffYear, int shortYear, int cutoffRange) {
+		return YearArgument.getEpoch(cutoffYear, cutoffRange)
+				+ YearArgument.getEpochOffset(shortYear, cutoffRange);
+	}
+}
@@ -0,0 +1,229 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 David Meersteiner
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.dm.javafx.time.util.year;
+
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Interprets large batches of short years in parallel on a {@link ForkJoinPool}.
+ * <p>
+ * The batch is split into chunks, which are interpreted by the workers of the pool
+ * and write their years into the shared result array without synchronisation.
+ * Chunks always start at a multiple of 64, so no two chunks share a word of the error bitmap.
+ * Batches up to the threshold are interpreted sequentially on the calling thread.
+ * <p>
+ * The interpreter takes an immutable view of the cutoff year and behaviour of a {@link YearCutoff}
+ * when it is created, as the properties of the {@code YearCutoff} must not be read from the workers.
+ * Later changes of the {@code YearCutoff} don't affect the interpreter.
+ * 
+ * @author David Meersteiner
+ * @version 0.1.0
+ */
+public class ParallelYearInterpreter {
+	
+	/**
+	 * The default number of inputs, up to which a batch is interpreted sequentially.
+	 * <p>
+	 * Current value = {@value}
+	 */
+	public static final int DEFAULT_THRESHOLD = 16384;
+	
+	private final int[] shortYearTable;
+	private final int shortYearDigits;
+	private final ForkJoinPool pool;
+	private final int threshold;
+	
+	/* CONSTRUCTORS */
+	
+	/**
+	 * Creates a new instance running on the common pool.
+	 * @param cutoff the year cutoff, whose current cutoff year and behaviour are used
+	 */
+	public ParallelYearInterpreter(AbstractYearCutoff cutoff) {
+		this(cutoff, ForkJoinPool.commonPool());
+	}
+	
+	/**
+	 * Creates a new instance running on the given pool.
+	 * @param cutoff the year cutoff, whose current cutoff year and behaviour are used
+	 * @param pool the pool to run on
+	 */
+	public ParallelYearInterpreter(AbstractYearCutoff cutoff, ForkJoinPool pool) {
+		this(cutoff, pool, DEFAULT_THRESHOLD);
+	}
+	
+	/**
+	 * Creates a new instance running on the given pool.
+	 * @param cutoff the year cutoff, whose current cutoff year and behaviour are used
+	 * @param pool the pool to run on
+	 * @param threshold the number of inputs, up to which a chunk is interpreted sequentially,
+	 * rounded up to a multiple of 64
+	 */
+	public ParallelYearInterpreter(AbstractYearCutoff cutoff, ForkJoinPool pool, int threshold) {
+		if (pool == null) {
+			throw new NullPointerException("pool");
+		}
+		if (threshold < 1) {
+			throw new IllegalArgumentException("threshold must be positive: " + threshold);
+		}
+		this.shortYearTable = cutoff.getShortYearTable();
+		this.shortYearDigits = cutoff.getShortYearDigits();
+		this.pool = pool;
+		this.threshold = (int) Math.min((threshold + 63L) & ~63L, Integer.MAX_VALUE & ~63);
+	}
+	
+	/* CLASS METHODS */
+	
+	/**
+	 * Interprets a batch of {@code CharSequence}s, which may contain short years, to get long years,
+	 * without throwing an exception for inputs that aren't years.
+	 * For more information see {@link ShortYearInterpreter#interpretAll(CharSequence[], int[], long[])}.
+	 * @param shortYears the possible short years
+	 * @param years the array receiving the years, at least as long as the batch
+	 * @param errors the error bitmap, at least {@code (shortYears.length + 63) / 64} long
+	 * @return the number of inputs, which couldn't be interpreted
+	 */
+	public int interpretAll(CharSequence[] shortYears, int[] years, long[] errors) {
+		YearBatch.checkRange(0, shortYears.length, shortYears.length, years, errors);
+		if (shortYears.length <= threshold) {
+			return YearBatch.interpretAll(shortYearTable, shortYearDigits, shortYears, 0, shortYears.length, years, errors);
+		}
+		return pool.invoke(new ArrayChunk(shortYears, 0, shortYears.length, years, errors));
+	}
+	
+	/**
+	 * Interprets a batch of {@code CharSequence}s, which may contain short years, to get long years,
+	 * without throwing an exception for inputs that aren't years.
+	 * For more information see {@link ShortYearInterpreter#interpretAll(CharSequence[], int[], long[])}.
+	 * <p>
+	 * Only lists implementing {@link RandomAccess} are split, any other list is interpreted sequentially.
+	 * @param shortYears the possible short years
+	 * @param years the array receiving the years, at least as long as the batch
+	 * @param errors the error bitmap, at least {@code (shortYears.size() + 63) / 64} long
+	 * @return the number of inputs, which couldn't be interpreted
+	 */
+	public int interpretAll(List<? extends CharSequence> shortYears, int[] years, long[] errors) {
+		int size = shortYears.size();
+		YearBatch.checkRange(0, size, size, years, errors);
+		if (size <= threshold || !(shortYears instanceof RandomAccess)) {
+			return YearBatch.interpretAll(shortYearTable, shortYearDigits, shortYears, 0, size, years, errors);
+		}
+		return pool.invoke(new ListChunk(shortYears, 0, size, years, errors));
+	}
+	
+	/* GETTER */
+	
+	/**
+	 * @return the pool the interpreter runs on
+	 */
+	public ForkJoinPool getPool() {
+		return pool;
+	}
+	
+	/**
+	 * @return the number of inputs, up to which a chunk is interpreted sequentially
+	 */
+	public int getThreshold() {
+		return threshold;
+	}
+	
+	/**
+	 * Splits a range at a multiple of 64 near its middle.
+	 * @return the split index, or {@code from}, if the range shouldn't be split
+	 */
+	private int split(int from, int to) {
+		if (to - from <= threshold) {
+			return from;
+		}
+		return (from + (to - from) / 2) & ~63;
+	}
+	
+	/* UTILITY CLASSES */
+	
+	private class ArrayChunk extends RecursiveTask<Integer> {
+		
+		private static final long serialVersionUID = 1L;
+		
+		private final CharSequence[] shortYears;
+		private final int from;
+		private final int to;
+		private final int[] years;
+		private final long[] errors;
+		
+		ArrayChunk(CharSequence[] shortYears, int from, int to, int[] years, long[] errors) {
+			this.shortYears = shortYears;
+			this.from = from;
+			this.to = to;
+			this.years = years;
+			this.errors = errors;
+		}
+		
+		@Override
+		protected Integer compute() {
+			int mid = split(from, to);
+			if (mid <= from) {
+				return YearBatch.interpretAll(shortYearTable, shortYearDigits, shortYears, from, to, years, errors);
+			}
+			ArrayChunk left = new ArrayChunk(shortYears, from, mid, years, errors);
+			left.fork();
+			int failures = new ArrayChunk(shortYears, mid, to, years, errors).compute();
+			return failures + left.join();
+		}
+	}
+	
+	private class ListChunk extends RecursiveTask<Integer> {
+		
+		private static final long serialVersionUID = 1L;
+		
+		private final List<? extends CharSequence> shortYears;
+		private final int from;
+		private final int to;
+		private final int[] years;
+		private final long[] errors;
+		
+		ListChunk(List<? extends CharSequence> shortYears, int from, int to, int[] years, long[] errors) {
+			this.shortYears = shortYears;
+			this.from = from;
+			this.to = to;
+			this.years = years;
+			this.errors = errors;
+		}
+		
+		@Override
+		protected Integer compute() {
+			int mid = split(from, to);
+			if (mid <= from) {
+				return YearBatch.interpretAll(shortYearTable, shortYearDigits, shortYears, from, to, years, errors);
+			}
+			ListChunk left = new ListChunk(shortYears, from, mid, years, errors);
+			left.fork();
+			int failures = new ListChunk(shortYears, mid, to, years, errors).compute();
+			return failures + left.join();
+		}
+	}
+}
@@ -0,0 +1,287 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 David Meersteiner
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.dm.javafx.time.util.year;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import de.dm.javafx.time.exception.NumberParseException;
+
+/**
+ * Interprets short years relative to a reference year given with every short year,
+ * e.g. the posting year of every record of a transaction file, instead of a single cutoff year.
+ * <p>
+ * The cutoff year of a short year is its reference year + the cutoff offset,
+ * the short year is placed by an {@link IntYearCutoffBehaviour} with primitives.
+ * No properties are read and no objects are created, neither per call nor per row of a batch.
+ * <p>
+ * A behaviour overriding the object based methods of {@link YearCutoffBehaviour} is honoured like
+ * an {@link AbstractYearCutoff} does: the interpreter builds a short year table for every distinct cutoff year
+ * it is asked for and keeps it for its lifetime, so only the first row of a cutoff year creates objects.
+ * Looking up a table doesn't lock.
+ * <p>
+ * Examples
+ * <code>
+ * ReferenceYearInterpreter interpreter = new ReferenceYearInterpreter();
+ * interpreter.interpret("99", 2001); // = 1999
+ * interpreter.interpret("01", 2001); // = 2001
+ * interpreter.interpret("02", 2001); // = 1902
+ * </code>
+ * 
+ * @author David Meersteiner
+ * @version 0.1.0
+ */
+public final class ReferenceYearInterpreter {
+	
+	private final IntYearCutoffBehaviour behaviour;
+	private final boolean primitiveBehaviour;
+	private volatile ShortYearTables tables = ShortYearTables.EMPTY;
+	private final int cutoffOffset;
+	private final int shortYearDigits;
+	private final int cutoffRange;
+	
+	/* CONSTRUCTORS */
+	
+	/**
+	 * Creates a new interpreter, which never places a short year after its reference year,
+	 * see {@link BasicYearCutoffHandler}.
+	 */
+	public ReferenceYearInterpreter() {
+		this(new BasicYearCutoffHandler(), 0);
+	}
+	
+	/**
+	 * Creates a new interpreter.
+	 * @param behaviour the behaviour
+	 * @param cutoffOffset the offset of the cutoff year from the reference year
+	 */
+	public ReferenceYearInterpreter(IntYearCutoffBehaviour behaviour, int cutoffOffset) {
+		this(behaviour, cutoffOffset, AbstractYearCutoff.MAX_SHORTYEAR_DIGITS);
+	}
+	
+	/**
+	 * Creates a new interpreter.
+	 * @param behaviour the behaviour
+	 * @param cutoffOffset the offset of the cutoff year from the reference year
+	 * @param shortYearDigits the maximal number of digits of a short year, see {@link YearCutoff#YearCutoff(int, int)}
+	 */
+	public ReferenceYearInterpreter(IntYearCutoffBehaviour behaviour, int cutoffOffset, int shortYearDigits) {
+		if (behaviour == null) {
+			throw new NullPointerException("behaviour");
+		}
+		this.behaviour = behaviour;
+		this.primitiveBehaviour = AbstractYearCutoff.isPrimitiveBehaviour(behaviour);
+		this.cutoffOffset = cutoffOffset;
+		this.shortYearDigits = shortYearDigits;
+		this.cutoffRange = AbstractYearCutoff.toCutoffRange(shortYearDigits);
+	}
+	
+	/* CLASS METHODS */
+	
+	/**
+	 * Interprets a {@code CharSequence}, which may contain a short year, relative to a reference year.
+	 * @param shortYear the possible short year
+	 * @param referenceYear the reference year
+	 * @throws NumberParseException if the parameter couldn't be parsed, e.g. because it didn't contain a year.
+	 * @return the year parsed and interpreted from the {@code CharSequence}
+	 */
+	public int interpret(CharSequence shortYear, int referenceYear) throws NumberParseException {
+		long result = tryInterpret(shortYear, referenceYear);
+		if (!YearParseResult.isOk(result)) {
+			throw YearParser.toException(shortYear, 0, shortYear.length());
+		}
+		return YearParseResult.getYear(result);
+	}
+	
+	/**
+	 * Interprets a {@code CharSequence}, which may contain a short year, relative to a reference year,
+	 * without throwing an exception.
+	 * @param shortYear the possible short year
+	 * @param referenceYear the reference year
+	 * @return the result holding the interpreted year or the reason of the failure, see {@link YearParseResult}
+	 */
+	public long tryInterpret(CharSequence shortYear, int referenceYear) {
+		return interpretParsed(YearParser.parse(shortYear, 0, shortYear.length()), referenceYear);
+	}
+	
+	/**
+	 * Interprets a range of a UTF-8 encoded {@code byte} array, which may contain a short year,
+	 * relative to a reference year, without throwing an exception.
+	 * @param shortYear the array containing the possible short year
+	 * @param offset the index of the first byte
+	 * @param length the number of bytes
+	 * @param referenceYear the reference year
+	 * @return the result holding the interpreted year or the reason of the failure, see {@link YearParseResult}
+	 */
+	public long tryInterpret(byte[] shortYear, int offset, int length, int referenceYear) {
+		return interpretParsed(YearParser.parse(shortYear, offset, length), referenceYear);
+	}
+	
+	/**
+	 * Interprets a range of a UTF-8 encoded {@code ByteBuffer}, which may contain a short year,
+	 * relative to a reference year, without throwing an exception.
+	 * @param shortYear the buffer containing the possible short year
+	 * @param offset the index of the first byte
+	 * @param length the number of bytes
+	 * @param referenceYear the reference year
+	 * @return the result holding the interpreted year or the reason of the failure, see {@link YearParseResult}
+	 */
+	public long tryInterpret(ByteBuffer shortYear, int offset, int length, int referenceYear) {
+		return interpretParsed(YearParser.parse(shortYear, offset, length), referenceYear);
+	}
+	
+	/**
+	 * Interprets a batch of {@code CharSequence}s, which may contain short years, each relative to its own reference year,
+	 * without throwing an exception for inputs that aren't years.
+	 * <p>
+	 * The short year at index {@code i} is interpreted relative to {@code referenceYears[i]}.
+	 * Results are written like {@link ShortYearInterpreter#interpretAll(CharSequence[], int[], long[])} does.
+	 * @param shortYears the possible short years
+	 * @param referenceYears the reference years, at least as long as the batch
+	 * @param years the array receiving the years, at least as long as the batch
+	 * @param errors the error bitmap, at least {@code (shortYears.length + 63) / 64} long
+	 * @return the number of inputs, which couldn't be interpreted
+	 */
+	public int interpretAll(CharSequence[] shortYears, int[] referenceYears, int[] years, long[] errors) {
+		return interpretAll(shortYears, referenceYears, 0, shortYears.length, years, errors);
+	}
+	
+	/**
+	 * Interprets a range of a batch of {@code CharSequence}s, which may contain short years,
+	 * each relative to its own reference year, without throwing an exception for inputs that aren't years.
+	 * For more information see {@link ReferenceYearInterpreter#interpretAll(CharSequence[], int[], int[], long[])}.
+	 * Bits of the error bitmap outside of the range aren't changed.
+	 * @param shortYears the possible short years
+	 * @param referenceYears the reference years
+	 * @param from the first index, inclusive
+	 * @param to the last index, exclusive
+	 * @param years the array receiving the years
+	 * @param errors the error bitmap
+	 * @return the number of inputs in the range, which couldn't be interpreted
+	 */
+	public int interpretAll(CharSequence[] shortYears, int[] referenceYears, int from, int to, int[] years, long[] errors) {
+		YearBatch.checkRange(from, to, shortYears.length, years, errors);
+		if (to > referenceYears.length) {
+			throw new IndexOutOfBoundsException("referenceYears too short: " + referenceYears.length + " < " + to);
+		}
+		long word = 0;
+		for (int i = from; i < to; i++) {
+			CharSequence shortYear = shortYears[i];
+			long result = shortYear == null ? YearParseResult.of(YearParseResult.EMPTY, 0, 0)
+					: tryInterpret(shortYear, referenceYears[i]);
+			word = YearBatch.storeResult(result, years, errors, from, to, i, word);
+		}
+		return YearBatch.countErrors(errors, from, to);
+	}
+	
+	private long interpretParsed(long parsed, int referenceYear) {
+		if (!YearParseResult.isOk(parsed)) {
+			return parsed;
+		}
+		int year = YearParseResult.getYear(parsed);
+		if (year >= 0 && year < cutoffRange && YearParseResult.getLength(parsed) <= shortYearDigits) {
+			return YearParseResult.withYear(parsed, handleShortYear(referenceYear + cutoffOffset, year));
+		}
+		return parsed;
+	}
+	
+	private int handleShortYear(int cutoffYear, int shortYear) {
+		if (primitiveBehaviour) {
+			return behaviour.handleShortYear(cutoffYear, shortYear, cutoffRange);
+		}
+		ShortYearTables current = tables;
+		int index = Arrays.binarySearch(current.cutoffYears, cutoffYear);
+		int[] table = index >= 0 ? current.tables[index] : addShortYearTable(cutoffYear);
+		return table[shortYear];
+	}
+	
+	private synchronized int[] addShortYearTable(int cutoffYear) {
+		ShortYearTables current = tables;
+		int index = Arrays.binarySearch(current.cutoffYears, cutoffYear);
+		if (index >= 0) {
+			return current.tables[index];
+		}
+		SimpleYearCutoff cutoff = new SimpleYearCutoff(cutoffYear, shortYearDigits);
+		cutoff.setBehaviour(behaviour);
+		int[] table = cutoff.getShortYearTable();
+		tables = current.with(-index - 1, cutoffYear, table);
+		return table;
+	}
+	
+	/* GETTER */
+	
+	/**
+	 * @return the behaviour
+	 */
+	public IntYearCutoffBehaviour getBehaviour() {
+		return behaviour;
+	}
+	
+	/**
+	 * @return the offset of the cutoff year from the reference year
+	 */
+	public int getCutoffOffset() {
+		return cutoffOffset;
+	}
+	
+	/**
+	 * @return the maximal number of digits of a short year
+	 */
+	public int getShortYearDigits() {
+		return shortYearDigits;
+	}
+	
+	/* UTILITY CLASSES */
+	
+	/**
+	 * The short year tables of the cutoff years seen so far, sorted by cutoff year.
+	 * Never modified, a new instance replaces it, when a cutoff year is added, so it can be read without locking.
+	 */
+	private static final class ShortYearTables {
+		
+		static final ShortYearTables EMPTY = new ShortYearTables(new int[0], new int[0][]);
+		
+		final int[] cutoffYears;
+		final int[][] tables;
+		
+		ShortYearTables(int[] cutoffYears, int[][] tables) {
+			this.cutoffYears = cutoffYears;
+			this.tables = tables;
+		}
+		
+		ShortYearTables with(int index, int cutoffYear, int[] table) {
+			int size = cutoffYears.length;
+			int[] newCutoffYears = new int[size + 1];
+			int[][] newTables = new int[size + 1][];
+			System.arraycopy(cutoffYears, 0, newCutoffYears, 0, index);
+			System.arraycopy(tables, 0, newTables, 0, index);
+			newCutoffYears[index] = cutoffYear;
+			newTables[index] = table;
+			System.arraycopy(cutoffYears, index, newCutoffYears, index + 1, size - index);
+			System.arraycopy(tables, index, newTables, index + 1, size - index);
+			return new ShortYearTables(newCutoffYears, newTables);
+		}
+	}
+}
@@ -0,0 +1,285 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 David Meersteiner
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.dm.javafx.time.util.year;
+
+import java.nio.ByteBuffer;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+
+import de.dm.javafx.time.exception.NumberParseException;
+
+/**
+ * A {@link ShortYearInterpreter}, whose cutoff year rolls with the current year of a {@link Clock},
+ * e.g. the current year + {@link YearCutoff#DEFAULT_CUTOFF_OFFSET}.
+ * <p>
+ * Unlike {@link YearCutoff#YearCutoff()}, which reads the current year once,
+ * the cutoff year follows the clock, so a long running application interprets short years
+ * correctly after New Year. The current year is cached in a {@link FrozenYearCutoff},
+ * together with the instant the next year starts in the zone of the clock.
+ * Every call only compares the current millis of the clock with that instant,
+ * the cutoff year is computed again only when it was passed.
+ * The clock is expected to move forward, if it is set back into an earlier year,
+ * the cached year is kept until the next rollover.
+ * <p>
+ * Instances are thread safe, if the clock and behaviour are.
+ * Tests can pass a fixed clock, see {@link Clock#fixed(Instant, ZoneId)}.
+ * <p>
+ * Examples
+ * <code>
+ * RollingYearCutoff ryc = new RollingYearCutoff(Clock.fixed(Instant.parse("2020-06-01T00:00:00Z"), ZoneOffset.UTC));
+ * ryc.interpret("50"); // = 2050
+ * ryc.interpret("51"); // = 1951
+ * </code>
+ * 
+ * @author David Meersteiner
+ * @version 0.1.0
+ */
+public final class RollingYearCutoff implements ShortYearInterpreter {
+	
+	private final Clock clock;
+	private final int cutoffOffset;
+	private final YearCutoffBehaviour behaviour;
+	private final int shortYearDigits;
+	
+	private volatile Period period;
+	
+	/* CONSTRUCTORS */
+	
+	/**
+	 * Creates a new instance following the system clock in the default time zone,
+	 * with {@link YearCutoff#DEFAULT_CUTOFF_OFFSET}.
+	 */
+	public RollingYearCutoff() {
+		this(Clock.systemDefaultZone());
+	}
+	
+	/**
+	 * Creates a new instance following the given clock, with {@link YearCutoff#DEFAULT_CUTOFF_OFFSET}.
+	 * @param clock the clock
+	 */
+	public RollingYearCutoff(Clock clock) {
+		this(clock, AbstractYearCutoff.DEFAULT_CUTOFF_OFFSET);
+	}
+	
+	/**
+	 * Creates a new instance following the given clock.
+	 * @param clock the clock
+	 * @param cutoffOffset the offset of the cutoff year from the current year
+	 */
+	public RollingYearCutoff(Clock clock, int cutoffOffset) {
+		this(clock, cutoffOffset, null, AbstractYearCutoff.MAX_SHORTYEAR_DIGITS);
+	}
+	
+	/**
+	 * Creates a new instance following the given clock.
+	 * @param clock the clock
+	 * @param cutoffOffset the offset of the cutoff year from the current year
+	 * @param behaviour the behaviour, or {@code null} for the default behaviour,
+	 * see {@link YearCutoff#setBehaviour(YearCutoffBehaviour)}
+	 * @param shortYearDigits the maximal number of digits of a short year,
+	 * see {@link YearCutoff#YearCutoff(int, int)}
+	 */
+	public RollingYearCutoff(Clock clock, int cutoffOffset, YearCutoffBehaviour behaviour, int shortYearDigits) {
+		if (clock == null) {
+			throw new NullPointerException("clock");
+		}
+		this.clock = clock;
+		this.cutoffOffset = cutoffOffset;
+		this.behaviour = behaviour;
+		this.shortYearDigits = shortYearDigits;
+		this.period = createPeriod(clock.millis());
+	}
+	
+	/* CLASS METHODS */
+	
+	/**
+	 * Interprets a {@code String}, which may contain a short year, to get a long year.
+	 * For more information see {@link YearCutoff#interpret(String)}.
+	 * @throws NumberParseException if the parameter couldn't be parsed, e.g. because it didn't contain a year.
+	 * @return the year parsed and interpreted from the {@code String}
+	 */
+	@Override
+	public int interpret(String shortYear) throws NumberParseException {
+		return freeze().interpret(shortYear);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int interpret(CharSequence shortYear, int start, int end) throws NumberParseException {
+		return freeze().interpret(shortYear, start, end);
+	}
+	
+	/**
+	 * Interprets a range of a UTF-8 encoded {@code byte} array, which may contain a short year, to get a long year.
+	 * For more information see {@link YearCutoff#interpret(byte[], int, int)}.
+	 * @param shortYear the array containing the possible short year
+	 * @param offset the index of the first byte
+	 * @param length the number of bytes
+	 * @throws NumberParseException if the range couldn't be parsed, e.g. because it didn't contain a year.
+	 * @return the year parsed and interpreted from the range
+	 */
+	public int interpret(byte[] shortYear, int offset, int length) throws NumberParseException {
+		return freeze().interpret(shortYear, offset, length);
+	}
+	
+	/**
+	 * Interprets a range of a UTF-8 encoded {@code ByteBuffer}, which may contain a short year, to get a long year.
+	 * For more information see {@link YearCutoff#interpret(ByteBuffer, int, int)}.
+	 * @param shortYear the buffer containing the possible short year
+	 * @param offset the index of the first byte
+	 * @param length the number of bytes
+	 * @throws NumberParseException if the range couldn't be parsed, e.g. because it didn't contain a year.
+	 * @return the year parsed and interpreted from the range
+	 */
+	public int interpret(ByteBuffer shortYear, int offset, int length) throws NumberParseException {
+		return freeze().interpret(shortYear, offset, length);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long tryInterpret(CharSequence shortYear, int start, int end) {
+		return freeze().tryInterpret(shortYear, start, end);
+	}
+	
+	/**
+	 * Interprets a range of a UTF-8 encoded {@code byte} array, which may contain a short year, to get a long year,
+	 * without throwing an exception. For more information see {@link YearCutoff#tryInterpret(byte[], int, int)}.
+	 * @param shortYear the array containing the possible short year
+	 * @param offset the index of the first byte
+	 * @param length the number of bytes
+	 * @return the result holding the interpreted year or the reason of the failure, see {@link YearParseResult}
+	 */
+	public long tryInterpret(byte[] shortYear, int offset, int length) {
+		return freeze().tryInterpret(shortYear, offset, length);
+	}
+	
+	/**
+	 * Interprets a range of a UTF-8 encoded {@code ByteBuffer}, which may contain a short year, to get a long year,
+	 * without throwing an exception. For more information see {@link YearCutoff#tryInterpret(ByteBuffer, int, int)}.
+	 * @param shortYear the buffer containing the possible short year
+	 * @param offset the index of the first byte
+	 * @param length the number of bytes
+	 * @return the result holding the interpreted year or the reason of the failure, see {@link YearParseResult}
+	 */
+	public long tryInterpret(ByteBuffer shortYear, int offset, int length) {
+		return freeze().tryInterpret(shortYear, offset, length);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The clock is read once for the whole batch.
+	 */
+	@Override
+	public int interpretAll(CharSequence[] shortYears, int[] years, long[] errors) {
+		return freeze().interpretAll(shortYears, years, errors);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The clock is read once for the whole batch.
+	 */
+	@Override
+	public int interpretAll(List<? extends CharSequence> shortYears, int[] years, long[] errors) {
+		return freeze().interpretAll(shortYears, years, errors);
+	}
+	
+	/**
+	 * Returns an immutable snapshot of the cutoff year of the current year of the clock.
+	 * <p>
+	 * Snapshots are cached, so every call within the same year returns the same instance.
+	 * @return the snapshot
+	 */
+	public FrozenYearCutoff freeze() {
+		Period current = period;
+		long millis = clock.millis();
+		if (millis >= current.endMillis) {
+			current = createPeriod(millis);
+			period = current;
+		}
+		return current.cutoff;
+	}
+	
+	private Period createPeriod(long millis) {
+		ZoneId zone = clock.getZone();
+		int year = Instant.ofEpochMilli(millis).atZone(zone).getYear();
+		SimpleYearCutoff cutoff = new SimpleYearCutoff(year + cutoffOffset, shortYearDigits);
+		cutoff.setBehaviour(behaviour);
+		long endMillis = LocalDate.of(year + 1, 1, 1).atStartOfDay(zone).toInstant().toEpochMilli();
+		return new Period(cutoff.freeze(), endMillis);
+	}
+	
+	/* GETTER */
+	
+	/**
+	 * @return the cutoff year of the current year of the clock
+	 */
+	public int getCutoffYear() {
+		return freeze().getCutoffYear();
+	}
+	
+	/**
+	 * @return the offset of the cutoff year from the current year
+	 */
+	public int getCutoffOffset() {
+		return cutoffOffset;
+	}
+	
+	/**
+	 * @return the clock
+	 */
+	public Clock getClock() {
+		return clock;
+	}
+	
+	@Override
+	public String toString() {
+		return "RollingYearCutoff[cutoffOffset=" + cutoffOffset + ", clock=" + clock + "]";
+	}
+	
+	/* UTILITY CLASSES */
+	
+	/**
+	 * The snapshot of a year and the instant the next year starts.
+	 */
+	private static final class Period {
+		
+		private final FrozenYearCutoff cutoff;
+		private final long endMillis;
+		
+		private Period(FrozenYearCutoff cutoff, long endMillis) {
+			this.cutoff = cutoff;
+			this.endMillis = endMillis;
+		}
+	}
+}
@@ -24,6 +24,9 @@
 
 package de.dm.javafx.time.util.year;
 
+import java.util.Arrays;
+import java.util.List;
+
 /**
  * An interface for interpreting short year {@code String}s,
  * usually consisting of two or less digits, to get long years.
@@ -38,5 +41,78 @@ public interface ShortYearInterpreter {
 	 * @return the year parsed and interpreted from the {@code String}.
 	 */
 	int interpret(String shortYear);
+
+	/**
+	 * Interprets a range of a {@code CharSequence}, which may contain a short year, to get a long year.
+	 * <p>
+	 * The default implementation copies the range into a {@code String}.
+	 * Implementations should override it to avoid creating objects.
+	 * @param shortYear the sequence containing the possible short year.
+	 * @param start the start index, inclusive.
+	 * @param end the end index, exclusive.
+	 * @return the year parsed and interpreted from the range.
+	 */
+	default int interpret(CharSequence shortYear, int start, int end) {
+		return interpret(shortYear.subSequence(start, end).toString());
+	}
+	
+	/**
+	 * Interprets a {@code CharSequence}, which may contain a short year, to get a long year,
+	 * without throwing an exception for inputs that aren't years.
+	 * @param shortYear the possible short year.
+	 * @return the result holding the interpreted year or the reason of the failure, see {@link YearParseResult}.
+	 */
+	default long tryInterpret(CharSequence shortYear) {
+		return tryInterpret(shortYear, 0, shortYear.length());
+	}
+	
+	/**
+	 * Interprets a range of a {@code CharSequence}, which may contain a short year, to get a long year,
+	 * without throwing an exception for inputs that aren't years.
+	 * <p>
+	 * The default implementation checks the range first and then calls
+	 * {@link ShortYearInterpreter#interpret(CharSequence, int, int)}.
+	 * Implementations should override it to avoid creating objects.
+	 * @param shortYear the sequence containing the possible short year.
+	 * @param start the start index, inclusive.
+	 * @param end the end index, exclusive.
+	 * @return the result holding the interpreted year or the reason of the failure, see {@link YearParseResult}.
+	 */
+	default long tryInterpret(CharSequence shortYear, int start, int end) {
+		long parsed = YearParser.parse(shortYear, start, end);
+		if (!YearParseResult.isOk(parsed)) {
+			return parsed;
+		}
+		return YearParseResult.withYear(parsed, interpret(shortYear, start, end));
+	}
+	
+	/**
+	 * Interprets a batch of {@code CharSequence}s, which may contain short years, to get long years,
+	 * without throwing an exception for inputs that aren't years.
+	 * <p>
+	 * The year of the input at index {@code i} is written to {@code years[i]}.
+	 * Bit {@code i % 64} of {@code errors[i / 64]} is set, if that input couldn't be interpreted,
+	 * in which case its year is {@code 0}, and cleared otherwise. {@code null} inputs count as failures.
+	 * @param shortYears the possible short years.
+	 * @param years the array receiving the years, at least as long as the batch.
+	 * @param errors the error bitmap, at least {@code (shortYears.length + 63) / 64} long.
+	 * @return the number of inputs, which couldn't be interpreted.
+	 */
+	default int interpretAll(CharSequence[] shortYears, int[] years, long[] errors) {
+		return interpretAll(Arrays.asList(shortYears), years, errors);
+	}
+	
+	/**
+	 * Interprets a batch of {@code CharSequence}s, which may contain short years, to get long years,
+	 * without throwing an exception for inputs that aren't years.
+	 * For more information see {@link ShortYearInterpreter#interpretAll(CharSequence[], int[], long[])}.
+	 * @param shortYears the possible short years.
+	 * @param years the array receiving the years, at least as long as the batch.
+	 * @param errors the error bitmap, at least {@code (shortYears.size() + 63) / 64} long.
+	 * @return the number of inputs, which couldn't be interpreted.
+	 */
+	default int interpretAll(List<? extends CharSequence> shortYears, int[] years, long[] errors) {
+		return YearBatch.interpretAll(this, shortYears, 0, shortYears.size(), years, errors);
+	}
 	
 }
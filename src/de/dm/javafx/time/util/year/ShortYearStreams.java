@@ -0,0 +1,130 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 David Meersteiner
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.dm.javafx.time.util.year;
+
+import java.util.Arrays;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collector;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Utility class to use a {@link ShortYearInterpreter} with {@code java.util.stream}.
+ * <p>
+ * All adapters use {@link ShortYearInterpreter#tryInterpret(CharSequence)},
+ * so inputs, which aren't years, neither box results nor create exceptions with stack traces.
+ * They work with parallel streams, as long as the interpreter isn't changed while the stream runs.
+ * <p>
+ * Examples
+ * <code>
+ * YearCutoff yc = new YearCutoff(2020);
+ * ShortYearStreams.mapToYears(yc, Stream.of("10", "30", "foobar")).toArray(); // = [2010, 1930]
+ * Stream.of("10", "30", "foobar").parallel().collect(ShortYearStreams.counting(yc)); // = 2
+ * </code>
+ * @author David Meersteiner
+ * @version 0.1.0
+ */
+public final class ShortYearStreams {
+	
+	private ShortYearStreams() {
+		// utility class
+	}
+	
+	/**
+	 * Returns a function interpreting short years with the given interpreter.
+	 * <p>
+	 * Inputs, which aren't years, throw a {@link de.dm.javafx.time.exception.StacklessNumberParseException}.
+	 * @param interpreter the interpreter
+	 * @return the function
+	 */
+	public static ToIntFunction<CharSequence> asIntFunction(ShortYearInterpreter interpreter) {
+		return shortYear -> YearParseResult.getYearOrThrow(interpreter.tryInterpret(shortYear));
+	}
+	
+	/**
+	 * Maps a stream of possible short years to the interpreted years.
+	 * Inputs, which aren't years, are skipped.
+	 * <p>
+	 * The returned stream splits like the given one.
+	 * @param interpreter the interpreter
+	 * @param shortYears the possible short years
+	 * @return the stream of interpreted years
+	 */
+	public static IntStream mapToYears(ShortYearInterpreter interpreter, Stream<? extends CharSequence> shortYears) {
+		return shortYears
+				.mapToLong(interpreter::tryInterpret)
+				.filter(YearParseResult::isOk)
+				.mapToInt(YearParseResult::getYear);
+	}
+	
+	/**
+	 * Maps an array of possible short years to the interpreted years.
+	 * Inputs, which aren't years, are skipped.
+	 * <p>
+	 * The returned stream is based on the array, so it splits evenly when it runs in parallel.
+	 * @param interpreter the interpreter
+	 * @param shortYears the possible short years
+	 * @return the stream of interpreted years
+	 */
+	public static IntStream mapToYears(ShortYearInterpreter interpreter, CharSequence[] shortYears) {
+		return mapToYears(interpreter, Arrays.stream(shortYears));
+	}
+	
+	/**
+	 * Returns a collector counting the inputs, which are years.
+	 * @param interpreter the interpreter
+	 * @return the collector
+	 */
+	public static Collector<CharSequence, ?, Long> counting(ShortYearInterpreter interpreter) {
+		return Collector.of(
+				() -> new long[1],
+				(count, shortYear) -> {
+					if (YearParseResult.isOk(interpreter.tryInterpret(shortYear))) {
+						count[0]++;
+					}
+				},
+				(left, right) -> {
+					left[0] += right[0];
+					return left;
+				},
+				count -> count[0],
+				Collector.Characteristics.UNORDERED);
+	}
+	
+	/**
+	 * Returns a collector counting how often every interpreted year occurs,
+	 * as well as the inputs, which aren't years.
+	 * @param interpreter the interpreter
+	 * @return the collector
+	 */
+	public static Collector<CharSequence, ?, YearHistogram> toHistogram(ShortYearInterpreter interpreter) {
+		return Collector.of(
+				YearHistogram::new,
+				(histogram, shortYear) -> histogram.addResult(interpreter.tryInterpret(shortYear)),
+				YearHistogram::merge,
+				Collector.Characteristics.UNORDERED,
+				Collector.Characteristics.IDENTITY_FINISH);
+	}
+}
@@ -0,0 +1,55 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 David Meersteiner
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.dm.javafx.time.util.year;
+
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Maps short years to long years by a single load from a short year table.
+ * Values, which aren't short years, are returned unchanged.
+ * 
+ * @author David Meersteiner
+ * @version 0.1.0
+ * @see YearCutoff#compile()
+ */
+final class ShortYearTableMapper implements IntUnaryOperator {
+	
+	private final int[] shortYearTable;
+	
+	/**
+	 * @param shortYearTable the short year table, which must never be modified
+	 */
+	ShortYearTableMapper(int[] shortYearTable) {
+		this.shortYearTable = shortYearTable;
+	}
+	
+	@Override
+	public int applyAsInt(int shortYear) {
+		if (shortYear >= 0 && shortYear < shortYearTable.length) {
+			return shortYearTable[shortYear];
+		}
+		return shortYear;
+	}
+}
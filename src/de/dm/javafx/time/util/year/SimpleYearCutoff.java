@@ -0,0 +1,90 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 David Meersteiner
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.dm.javafx.time.util.year;
+
+/**
+ * An {@link AbstractYearCutoff}, which keeps the cutoff year in a plain field.
+ * <p>
+ * SimpleYearCutoff interprets short years exactly like {@link YearCutoff},
+ * but doesn't depend on JavaFX, so it can be used in applications without JavaFX, like headless servers.
+ * <p>
+ * Examples
+ * <code>
+ * SimpleYearCutoff syc = new SimpleYearCutoff(2020);
+ * syc.interpret("10"); 	   // = 2010
+ * syc.interpret("30"); 	   // = 1930
+ * </code>
+ * @author David Meersteiner
+ * @version 0.1.0
+ */
+public class SimpleYearCutoff extends AbstractYearCutoff {
+	
+	/* PROPERTIES */
+	
+	private int cutoffYear;
+	/**
+	 * Gets the cutoff year, the year that acts as a border.
+	 * @return the cutoff year
+	 */
+	@Override
+	public int getCutoffYear() { return cutoffYear; }
+	/**
+	 * Sets the cutoff year, the year that acts as a border.
+	 * @param value the year to set
+	 */
+	@Override
+	public void setCutoffYear(int value) {
+		cutoffYear = value;
+		updateShortYearTable();
+	}
+	
+	/* CONSTRUCTORS */
+
+	/**
+	 * Creates a new instance with the given cutoff year.
+	 * @param cutoffYear the cutoff year
+	 */
+	public SimpleYearCutoff(int cutoffYear) {
+		this(cutoffYear, MAX_SHORTYEAR_DIGITS);
+	}
+	
+	/**
+	 * Creates a new instance with the given cutoff year and maximal number of digits of a short year.
+	 * For more information see {@link YearCutoff#YearCutoff(int, int)}.
+	 * @param cutoffYear the cutoff year
+	 * @param shortYearDigits the maximal number of digits of a short year
+	 */
+	public SimpleYearCutoff(int cutoffYear, int shortYearDigits) {
+		super(shortYearDigits);
+		setCutoffYear(cutoffYear);
+	}
+	
+	/**
+	 * Creates a new instance with a default cutoff year.
+	 */
+	public SimpleYearCutoff() {
+		this(getDefaultCutoffYear());
+	}
+}
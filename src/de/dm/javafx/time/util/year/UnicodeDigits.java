@@ -0,0 +1,100 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 David Meersteiner
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.dm.javafx.time.util.year;
+
+import java.util.Arrays;
+
+/**
+ * Utility class to decode decimal digits of any script, e.g. Arabic-Indic, Devanagari or full-width digits.
+ * <p>
+ * Every block of decimal digits in Unicode, general category {@code Nd}, consists of ten consecutive
+ * code points from zero to nine. The blocks are listed by their zeros and expanded into a two-level page table
+ * when the class is loaded: the upper bits of a code point select a page of 256 code points,
+ * which holds the value of every digit on it, or {@code -1}. Pages without digits share one empty page,
+ * so the table takes about 15 KiB and a lookup costs two array loads, no matter the script.
+ * <p>
+ * Unlike {@link Character#digit(char, int)} the table also covers supplementary code points and doesn't
+ * depend on the Unicode version of the running JDK.
+ * 
+ * @author David Meersteiner
+ * @version 0.1.0
+ */
+final class UnicodeDigits {
+	
+	/**
+	 * The zeros of all blocks of decimal digits in Unicode 13.0.
+	 */
+	private static final int[] ZEROS = {
+			0x0030, 0x0660, 0x06F0, 0x07C0, 0x0966, 0x09E6, 0x0A66, 0x0AE6, 0x0B66, 0x0BE6,
+			0x0C66, 0x0CE6, 0x0D66, 0x0DE6, 0x0E50, 0x0ED0, 0x0F20, 0x1040, 0x1090, 0x17E0,
+			0x1810, 0x1946, 0x19D0, 0x1A80, 0x1A90, 0x1B50, 0x1BB0, 0x1C40, 0x1C50, 0xA620,
+			0xA8D0, 0xA900, 0xA9D0, 0xA9F0, 0xAA50, 0xABF0, 0xFF10, 0x104A0, 0x10D30, 0x11066,
+			0x110F0, 0x11136, 0x111D0, 0x112F0, 0x11450, 0x114D0, 0x11650, 0x116C0, 0x11730, 0x118E0,
+			0x11950, 0x11C50, 0x11D50, 0x11DA0, 0x16A60, 0x16B50, 0x1D7CE, 0x1D7D8, 0x1D7E2, 0x1D7EC,
+			0x1D7F6, 0x1E140, 0x1E2F0, 0x1E950, 0x1FBF0
+	};
+	
+	private static final int PAGE_SHIFT = 8;
+	private static final int PAGE_MASK = (1 << PAGE_SHIFT) - 1;
+	
+	private static final byte[] PAGE_INDEX = new byte[(Character.MAX_CODE_POINT + 1) >>> PAGE_SHIFT];
+	private static final byte[] PAGES;
+	
+	static {
+		// page 0 stays empty and is shared by all code points without digits
+		int pages = 1;
+		for (int zero : ZEROS) {
+			for (int codePoint = zero; codePoint < zero + 10; codePoint++) {
+				if (PAGE_INDEX[codePoint >>> PAGE_SHIFT] == 0) {
+					PAGE_INDEX[codePoint >>> PAGE_SHIFT] = (byte) pages++;
+				}
+			}
+		}
+		PAGES = new byte[pages << PAGE_SHIFT];
+		Arrays.fill(PAGES, (byte) -1);
+		for (int zero : ZEROS) {
+			for (int digit = 0; digit < 10; digit++) {
+				PAGES[index(zero + digit)] = (byte) digit;
+			}
+		}
+	}
+	
+	private UnicodeDigits() {
+		// utility class
+	}
+	
+	/**
+	 * Returns the value of a decimal digit.
+	 * @param codePoint a code point from {@code 0} to {@link Character#MAX_CODE_POINT}
+	 * @return the value of the digit from {@code 0} to {@code 9}, or {@code -1}, if the code point isn't a decimal digit
+	 */
+	static int digit(int codePoint) {
+		return PAGES[index(codePoint)];
+	}
+	
+	private static int index(int codePoint) {
+		return (PAGE_INDEX[codePoint >>> PAGE_SHIFT] & 0xFF) << PAGE_SHIFT | codePoint & PAGE_MASK;
+	}
+}
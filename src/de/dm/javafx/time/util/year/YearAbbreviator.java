@@ -0,0 +1,183 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 David Meersteiner
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.dm.javafx.time.util.year;
+
+import java.io.IOException;
+
+/**
+ * Utility class to abbreviate long years to short years with a short year table, the reverse of {@link YearBatch}.
+ * <p>
+ * A long year can be abbreviated, if interpreting its abbreviation gives the long year again,
+ * i.e. if the table maps its last digits back to it. Years outside of the window of the cutoff can't be,
+ * e.g. for the cutoff year 2020 and the default behaviour 1920 would be read back as 2020.
+ * Short years are written with leading zeros, as many digits as a short year may have.
+ * 
+ * @author David Meersteiner
+ * @version 0.1.0
+ */
+final class YearAbbreviator {
+	
+	private YearAbbreviator() {
+		// utility class
+	}
+	
+	/**
+	 * Abbreviates a long year.
+	 * @param table the short year table
+	 * @param longYear the long year
+	 * @return the short year, or {@code -1}, if the long year can't be read back from it
+	 */
+	static int abbreviate(int[] table, int longYear) {
+		int shortYear = Math.floorMod(longYear, table.length);
+		return table[shortYear] == longYear ? shortYear : -1;
+	}
+	
+	/**
+	 * Abbreviates a long year and appends the short year.
+	 * @param table the short year table
+	 * @param digits the number of digits to write
+	 * @param longYear the long year
+	 * @param out the destination
+	 * @return the number of characters appended, or {@code -1}, if the long year can't be read back from them
+	 * @throws IOException if the destination throws it
+	 */
+	static int abbreviate(int[] table, int digits, int longYear, Appendable out) throws IOException {
+		int shortYear = abbreviate(table, longYear);
+		if (shortYear < 0) {
+			return -1;
+		}
+		int divisor = 1;
+		for (int i = 1; i < digits; i++) {
+			divisor *= 10;
+		}
+		for (; divisor > 0; divisor /= 10) {
+			out.append((char) ('0' + shortYear / divisor % 10));
+		}
+		return digits;
+	}
+	
+	/**
+	 * Abbreviates a long year and writes the short year into a {@code char} array.
+	 * @param table the short year table
+	 * @param digits the number of digits to write
+	 * @param longYear the long year
+	 * @param out the destination
+	 * @param offset the index of the first character to write
+	 * @return the number of characters written, or {@code -1}, if the long year can't be read back from them
+	 */
+	static int abbreviate(int[] table, int digits, int longYear, char[] out, int offset) {
+		checkSpace(out.length, offset, digits);
+		int shortYear = abbreviate(table, longYear);
+		if (shortYear < 0) {
+			return -1;
+		}
+		for (int i = offset + digits - 1; i >= offset; i--) {
+			out[i] = (char) ('0' + shortYear % 10);
+			shortYear /= 10;
+		}
+		return digits;
+	}
+	
+	/**
+	 * Abbreviates a long year and writes the short year as ASCII digits into a {@code byte} array.
+	 * @param table the short year table
+	 * @param digits the number of digits to write
+	 * @param longYear the long year
+	 * @param out the destination
+	 * @param offset the index of the first byte to write
+	 * @return the number of bytes written, or {@code -1}, if the long year can't be read back from them
+	 */
+	static int abbreviate(int[] table, int digits, int longYear, byte[] out, int offset) {
+		checkSpace(out.length, offset, digits);
+		int shortYear = abbreviate(table, longYear);
+		if (shortYear < 0) {
+			return -1;
+		}
+		writeDigits(shortYear, digits, out, offset);
+		return digits;
+	}
+	
+	/**
+	 * Abbreviates a range of long years into an {@code int} array.
+	 * @param table the short year table
+	 * @param longYears the long years
+	 * @param from the first index, inclusive
+	 * @param to the last index, exclusive
+	 * @param shortYears the array receiving the short years at the same indices, {@code 0} for failures
+	 * @param errors the error bitmap receiving the failures at the same indices
+	 * @return the number of failures
+	 */
+	static int abbreviateAll(int[] table, int[] longYears, int from, int to, int[] shortYears, long[] errors) {
+		YearBatch.checkRange(from, to, longYears.length, shortYears, errors);
+		long word = 0;
+		for (int i = from; i < to; i++) {
+			int shortYear = abbreviate(table, longYears[i]);
+			shortYears[i] = Math.max(shortYear, 0);
+			word = YearBatch.collectError(errors, from, to, i, word, shortYear < 0);
+		}
+		return YearBatch.countErrors(errors, from, to);
+	}
+	
+	/**
+	 * Abbreviates a range of long years into fixed-width ASCII fields of a {@code byte} array.
+	 * @param table the short year table
+	 * @param digits the number of digits of a field
+	 * @param longYears the long years
+	 * @param from the first index, inclusive
+	 * @param to the last index, exclusive
+	 * @param out the array receiving the field of the year at index {@code i} at {@code offset + (i - from) * digits},
+	 * the fields of failures aren't changed
+	 * @param offset the index of the first field
+	 * @param errors the error bitmap receiving the failures at the same indices as the long years
+	 * @return the number of failures
+	 */
+	static int abbreviateAll(int[] table, int digits, int[] longYears, int from, int to, byte[] out, int offset, long[] errors) {
+		YearBatch.checkRange(from, to, longYears.length, errors);
+		checkSpace(out.length, offset, (long) (to - from) * digits);
+		long word = 0;
+		int position = offset;
+		for (int i = from; i < to; i++, position += digits) {
+			int shortYear = abbreviate(table, longYears[i]);
+			if (shortYear >= 0) {
+				writeDigits(shortYear, digits, out, position);
+			}
+			word = YearBatch.collectError(errors, from, to, i, word, shortYear < 0);
+		}
+		return YearBatch.countErrors(errors, from, to);
+	}
+	
+	private static void writeDigits(int shortYear, int digits, byte[] out, int offset) {
+		for (int i = offset + digits - 1; i >= offset; i--) {
+			out[i] = (byte) ('0' + shortYear % 10);
+			shortYear /= 10;
+		}
+	}
+	
+	private static void checkSpace(int length, int offset, long needed) {
+		if (offset < 0 || offset + needed > length) {
+			throw new IndexOutOfBoundsException("offset " + offset + ", needed " + needed + ", length " + length);
+		}
+	}
+}
@@ -0,0 +1,240 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 David Meersteiner
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.dm.javafx.time.util.year;
+
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Utility class to interpret batches of short years into an {@code int} array and an error bitmap.
+ * <p>
+ * The bitmap holds one bit per input: bit {@code i % 64} of {@code errors[i / 64]} is set,
+ * if the input at index {@code i} couldn't be interpreted, and cleared otherwise.
+ * The year of such an input is set to {@code 0}.
+ * 
+ * @author David Meersteiner
+ * @version 0.1.0
+ */
+final class YearBatch {
+	
+	private YearBatch() {
+		// utility class
+	}
+	
+	/**
+	 * Applies a short year table to a parse result, following the rules of {@link YearCutoff#interpret(String)}.
+	 * @param table the short year table
+	 * @param digits the maximal number of digits of a short year
+	 * @param parsed the result of {@link YearParser}
+	 * @return the result holding the interpreted year, or the unchanged result, if it isn't ok
+	 */
+	static long interpret(int[] table, int digits, long parsed) {
+		if (!YearParseResult.isOk(parsed)) {
+			return parsed;
+		}
+		int year = YearParseResult.getYear(parsed);
+		if (year >= 0 && year < table.length && YearParseResult.getLength(parsed) <= digits) {
+			return YearParseResult.withYear(parsed, table[year]);
+		}
+		return parsed;
+	}
+	
+	/**
+	 * Interprets a range of short years with a short year table.
+	 * @param table the short year table
+	 * @param digits the maximal number of digits of a short year
+	 * @param shortYears the short years, {@code null} elements count as failures
+	 * @param from the first index, inclusive
+	 * @param to the last index, exclusive
+	 * @param years the array receiving the years at the same indices
+	 * @param errors the error bitmap receiving the failures at the same indices
+	 * @return the number of failures
+	 */
+	static int interpretAll(int[] table, int digits, CharSequence[] shortYears, int from, int to, int[] years, long[] errors) {
+		checkRange(from, to, shortYears.length, years, errors);
+		long word = 0;
+		for (int i = from; i < to; i++) {
+			CharSequence shortYear = shortYears[i];
+			long result = shortYear == null ? YearParseResult.of(YearParseResult.EMPTY, 0, 0)
+					: interpret(table, digits, YearParser.parse(shortYear, 0, shortYear.length()));
+			word = storeResult(result, years, errors, from, to, i, word);
+		}
+		return countErrors(errors, from, to);
+	}
+	
+	/**
+	 * Interprets a range of short years with a short year table.
+	 * @param table the short year table
+	 * @param digits the maximal number of digits of a short year
+	 * @param shortYears the short years, {@code null} elements count as failures
+	 * @param from the first index, inclusive
+	 * @param to the last index, exclusive
+	 * @param years the array receiving the years at the same indices
+	 * @param errors the error bitmap receiving the failures at the same indices
+	 * @return the number of failures
+	 */
+	static int interpretAll(int[] table, int digits, List<? extends CharSequence> shortYears, int from, int to, int[] years, long[] errors) {
+		checkRange(from, to, shortYears.size(), years, errors);
+		long word = 0;
+		Iterator<? extends CharSequence> iterator = shortYears.listIterator(from);
+		for (int i = from; i < to; i++) {
+			CharSequence shortYear = iterator.next();
+			long result = shortYear == null ? YearParseResult.of(YearParseResult.EMPTY, 0, 0)
+					: interpret(table, digits, YearParser.parse(shortYear, 0, shortYear.length()));
+			word = storeResult(result, years, errors, from, to, i, word);
+		}
+		return countErrors(errors, from, to);
+	}
+	
+	/**
+	 * Interprets a range of short years with any interpreter, using {@link ShortYearInterpreter#tryInterpret(CharSequence)}.
+	 * @param interpreter the interpreter
+	 * @param shortYears the short years, {@code null} elements count as failures
+	 * @param from the first index, inclusive
+	 * @param to the last index, exclusive
+	 * @param years the array receiving the years at the same indices
+	 * @param errors the error bitmap receiving the failures at the same indices
+	 * @return the number of failures
+	 */
+	static int interpretAll(ShortYearInterpreter interpreter, List<? extends CharSequence> shortYears, int from, int to,
+			int[] years, long[] errors) {
+		checkRange(from, to, shortYears.size(), years, errors);
+		long word = 0;
+		Iterator<? extends CharSequence> iterator = shortYears.listIterator(from);
+		for (int i = from; i < to; i++) {
+			CharSequence shortYear = iterator.next();
+			long result = shortYear == null ? YearParseResult.of(YearParseResult.EMPTY, 0, 0)
+					: interpreter.tryInterpret(shortYear);
+			word = storeResult(result, years, errors, from, to, i, word);
+		}
+		return countErrors(errors, from, to);
+	}
+	
+	/**
+	 * Checks the arguments of a batch.
+	 * @param from the first index, inclusive
+	 * @param to the last index, exclusive
+	 * @param size the number of inputs
+	 * @param years the array receiving the years
+	 * @param errors the error bitmap
+	 * @throws IndexOutOfBoundsException if the range doesn't fit the inputs, the years or the bitmap
+	 */
+	static void checkRange(int from, int to, int size, int[] years, long[] errors) {
+		checkRange(from, to, size, errors);
+		if (to > years.length) {
+			throw new IndexOutOfBoundsException("years too short: " + years.length + " < " + to);
+		}
+	}
+	
+	/**
+	 * Checks the arguments of a batch, which doesn't write into an {@code int} array.
+	 * @param from the first index, inclusive
+	 * @param to the last index, exclusive
+	 * @param size the number of inputs
+	 * @param errors the error bitmap
+	 * @throws IndexOutOfBoundsException if the range doesn't fit the inputs or the bitmap
+	 */
+	static void checkRange(int from, int to, int size, long[] errors) {
+		if (from < 0 || from > to || to > size) {
+			throw new IndexOutOfBoundsException("from " + from + ", to " + to + ", size " + size);
+		}
+		if (to > (long) errors.length * Long.SIZE) {
+			throw new IndexOutOfBoundsException("errors too short: " + errors.length + " < " + ((to + 63) >>> 6));
+		}
+	}
+	
+	/**
+	 * Stores the year of a result at the given index, or {@code 0} and an error bit, if the result isn't ok.
+	 * For more information see {@link YearBatch#collectError(long[], int, int, int, long, boolean)}.
+	 * @param result the result of the input at the index
+	 * @param years the array receiving the years
+	 * @param errors the error bitmap
+	 * @param from the first index of the range, inclusive
+	 * @param to the last index of the range, exclusive
+	 * @param index the index of the input
+	 * @param word the error bits collected for the current word
+	 * @return the error bits collected for the current word
+	 */
+	static long storeResult(long result, int[] years, long[] errors, int from, int to, int index, long word) {
+		boolean failed = !YearParseResult.isOk(result);
+		years[index] = failed ? 0 : YearParseResult.getYear(result);
+		return collectError(errors, from, to, index, word, failed);
+	}
+	
+	/**
+	 * Collects the error bit of an input, the inputs of a range have to be visited in ascending order.
+	 * <p>
+	 * The bits are collected in a word, which is stored into the bitmap, once the input is the last one of the word
+	 * or of the range, without touching bits outside of the range.
+	 * @param errors the error bitmap
+	 * @param from the first index of the range, inclusive
+	 * @param to the last index of the range, exclusive
+	 * @param index the index of the input
+	 * @param word the error bits collected for the current word, {@code 0} for the first input
+	 * @param failed {@code true}, if the input couldn't be handled
+	 * @return the error bits collected for the current word, {@code 0} after they were stored
+	 */
+	static long collectError(long[] errors, int from, int to, int index, long word, boolean failed) {
+		if (failed) {
+			word |= 1L << index;
+		}
+		if ((index & 63) == 63 || index == to - 1) {
+			int wordIndex = index >>> 6;
+			long mask = rangeMask(from, to, wordIndex);
+			errors[wordIndex] = errors[wordIndex] & ~mask | word;
+			return 0;
+		}
+		return word;
+	}
+	
+	/**
+	 * Counts the error bits of a range.
+	 * @param errors the error bitmap
+	 * @param from the first index of the range, inclusive
+	 * @param to the last index of the range, exclusive
+	 * @return the number of set bits within the range
+	 */
+	static int countErrors(long[] errors, int from, int to) {
+		int count = 0;
+		for (int wordIndex = from >>> 6; wordIndex < (to + 63) >>> 6; wordIndex++) {
+			count += Long.bitCount(errors[wordIndex] & rangeMask(from, to, wordIndex));
+		}
+		return count;
+	}
+	
+	/**
+	 * @return the bits of the given word, which lie within the range
+	 */
+	private static long rangeMask(int from, int to, int wordIndex) {
+		long mask = -1L;
+		if (from > wordIndex << 6) {
+			mask &= -1L << from;
+		}
+		if (to < (wordIndex + 1) << 6) {
+			mask &= -1L >>> -to;
+		}
+		return mask;
+	}
+}
@@ -0,0 +1,318 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 David Meersteiner
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.dm.javafx.time.util.year;
+
+import java.time.LocalDate;
+import java.util.function.IntConsumer;
+
+/**
+ * Suggests a cutoff year for a column of short years, e.g. of a new partner feed,
+ * from the distribution of the short years.
+ * <p>
+ * The analyser counts the short years in a histogram of {@link AbstractYearCutoff#CUTOFF_RANGE} buckets,
+ * so it needs constant memory and a single pass over any number of rows, which may be sampled.
+ * Partial results of parallel passes can be merged.
+ * <p>
+ * As the years of real data are usually contiguous, the cutoff belongs into the sparsest part of the histogram,
+ * seen as a circle: the longest run of empty buckets, or else the {@link YearCutoffAnalyser#GAP_WIDTH}
+ * buckets with the least short years. The cutoff is placed in the middle of that gap.
+ * <p>
+ * The histogram only gives the offset of the cutoff year, its century is chosen relative to a reference year,
+ * e.g. the current year, by a placement behaviour, just like a short year is placed relative to a cutoff year.
+ * By default the analyser assumes current data, like transactions or expiry dates,
+ * and suggests the first year with that offset not before the reference year, see {@link FutureYearCutoffHandler},
+ * so the reference year is always valid. For historical data, e.g. birth years of 1900 to 1960,
+ * pass a {@link BasicYearCutoffHandler} to suggest the last year with that offset not after the reference year,
+ * or a {@link NearestYearCutoffHandler} to suggest the year nearest to it.
+ * <p>
+ * The confidence is the share of short years farther away from the cutoff than half the gap width.
+ * <p>
+ * Examples
+ * <code>
+ * YearCutoffAnalyser analyser = new YearCutoffAnalyser(2025);
+ * for (String year : column) {
+ *     analyser.add(year);
+ * }
+ * if (analyser.getConfidence() &gt; 0.99) {
+ *     YearCutoff yc = analyser.toYearCutoff();
+ * }
+ * </code>
+ * 
+ * @author David Meersteiner
+ * @version 0.1.0
+ */
+public final class YearCutoffAnalyser implements IntConsumer {
+	
+	/**
+	 * The number of buckets around the cutoff, which are taken into account for the confidence,
+	 * and for the cutoff, if there are no empty buckets.
+	 * <p>
+	 * Current value = {@value}
+	 */
+	public static final int GAP_WIDTH = 10;
+	
+	private static final int RANGE = AbstractYearCutoff.CUTOFF_RANGE;
+	
+	private final int referenceYear;
+	private final YearCutoffBehaviour placement;
+	private final long[] counts = new long[RANGE];
+	private long total;
+	private long ignored;
+	
+	/* CONSTRUCTORS */
+	
+	/**
+	 * Creates a new analyser, which suggests a cutoff year not before the current year.
+	 */
+	public YearCutoffAnalyser() {
+		this(LocalDate.now().getYear());
+	}
+	
+	/**
+	 * Creates a new analyser, which suggests a cutoff year not before the given reference year.
+	 * @param referenceYear the reference year, which is always valid
+	 */
+	public YearCutoffAnalyser(int referenceYear) {
+		this(referenceYear, new FutureYearCutoffHandler());
+	}
+	
+	/**
+	 * Creates a new analyser, which places the suggested cutoff year relative to the given reference year
+	 * like the given behaviour places a short year relative to a cutoff year.
+	 * @param referenceYear the reference year
+	 * @param placement the behaviour placing the cutoff year, e.g. a {@link BasicYearCutoffHandler} for historical data
+	 */
+	public YearCutoffAnalyser(int referenceYear, YearCutoffBehaviour placement) {
+		if (placement == null) {
+			throw new NullPointerException("placement");
+		}
+		this.referenceYear = referenceYear;
+		this.placement = placement;
+	}
+	
+	/* CLASS METHODS */
+	
+	/**
+	 * Adds a short year. Values, which aren't short years, are ignored.
+	 * @param shortYear the short year
+	 */
+	public void add(int shortYear) {
+		if (shortYear >= 0 && shortYear < RANGE) {
+			counts[shortYear]++;
+			total++;
+		} else {
+			ignored++;
+		}
+	}
+	
+	/**
+	 * Adds a short year, see {@link YearCutoffAnalyser#add(int)}.
+	 * @param shortYear the short year
+	 */
+	@Override
+	public void accept(int shortYear) {
+		add(shortYear);
+	}
+	
+	/**
+	 * Parses and adds a short year. Inputs, which aren't short years, like "1998", "0098" or "foobar", are ignored.
+	 * @param shortYear the possible short year, may be {@code null}
+	 */
+	public void add(CharSequence shortYear) {
+		addParsed(shortYear == null ? YearParseResult.of(YearParseResult.EMPTY, 0, 0)
+				: YearParser.parse(shortYear, 0, shortYear.length()));
+	}
+	
+	/**
+	 * Parses and adds a short year from a range of a UTF-8 encoded {@code byte} array,
+	 * see {@link YearCutoffAnalyser#add(CharSequence)}.
+	 * @param shortYear the array containing the possible short year
+	 * @param offset the index of the first byte
+	 * @param length the number of bytes
+	 */
+	public void add(byte[] shortYear, int offset, int length) {
+		addParsed(YearParser.parse(shortYear, offset, length));
+	}
+	
+	/**
+	 * Parses and adds short years, see {@link YearCutoffAnalyser#add(CharSequence)}.
+	 * @param shortYears the possible short years
+	 */
+	public void addAll(CharSequence[] shortYears) {
+		for (CharSequence shortYear : shortYears) {
+			add(shortYear);
+		}
+	}
+	
+	private void addParsed(long parsed) {
+		if (YearParseResult.isOk(parsed) && YearParseResult.getLength(parsed) <= AbstractYearCutoff.MAX_SHORTYEAR_DIGITS) {
+			add(YearParseResult.getYear(parsed));
+		} else {
+			ignored++;
+		}
+	}
+	
+	/**
+	 * Adds the counts of another analyser, e.g. of another part of the same column.
+	 * @param other the other analyser
+	 */
+	public void merge(YearCutoffAnalyser other) {
+		for (int shortYear = 0; shortYear < RANGE; shortYear++) {
+			counts[shortYear] += other.counts[shortYear];
+		}
+		total += other.total;
+		ignored += other.ignored;
+	}
+	
+	/**
+	 * Returns the suggested cutoff offset, i.e. the last short year before the cutoff.
+	 * @return the cutoff offset, from {@code 0} up to {@link AbstractYearCutoff#CUTOFF_RANGE}, exclusive
+	 */
+	public int getCutoffOffset() {
+		int bestStart = 0;
+		int bestLength = 0;
+		for (int start = 0; start < RANGE; start++) {
+			if (counts[start] != 0 || counts[(start + RANGE - 1) % RANGE] == 0) {
+				continue;
+			}
+			int length = 0;
+			while (length < RANGE && counts[(start + length) % RANGE] == 0) {
+				length++;
+			}
+			if (length > bestLength) {
+				bestStart = start;
+				bestLength = length;
+			}
+		}
+		if (bestLength == 0) {
+			if (total == 0) {
+				return Math.floorMod(referenceYear, RANGE);
+			}
+			long bestSum = Long.MAX_VALUE;
+			for (int start = 0; start < RANGE; start++) {
+				long sum = sum(start, GAP_WIDTH);
+				if (sum < bestSum) {
+					bestStart = start;
+					bestSum = sum;
+				}
+			}
+			bestLength = GAP_WIDTH;
+		}
+		// the short years after the cutoff offset belong to the previous epoch
+		return (bestStart + (bestLength - 1) / 2) % RANGE;
+	}
+	
+	/**
+	 * Returns the suggested cutoff year, the year with the suggested offset placed relative to the reference year,
+	 * by default the first one not before the reference year.
+	 * @return the cutoff year
+	 */
+	public int getCutoffYear() {
+		return FrozenYearCutoff.of(referenceYear, placement).getShortYearTable()[getCutoffOffset()];
+	}
+	
+	/**
+	 * Returns the confidence of the suggestion, the share of short years, which are farther away from the cutoff
+	 * than half of {@link YearCutoffAnalyser#GAP_WIDTH}. A short year near the cutoff may belong to either side,
+	 * so the suggestion should be checked, if the confidence isn't near {@code 1}.
+	 * @return the confidence from {@code 0} to {@code 1}, {@code 0} if no short years were added
+	 */
+	public double getConfidence() {
+		if (total == 0) {
+			return 0;
+		}
+		long nearCutoff = sum(getCutoffOffset() + 1 - GAP_WIDTH / 2, GAP_WIDTH);
+		return 1 - (double) nearCutoff / total;
+	}
+	
+	private long sum(int start, int length) {
+		long sum = 0;
+		for (int i = 0; i < length; i++) {
+			sum += counts[Math.floorMod(start + i, RANGE)];
+		}
+		return sum;
+	}
+	
+	/**
+	 * Creates a {@link YearCutoff} with the suggested cutoff year.
+	 * @return the year cutoff
+	 */
+	public YearCutoff toYearCutoff() {
+		return new YearCutoff(getCutoffYear());
+	}
+	
+	/**
+	 * Returns the canonical snapshot of the suggested cutoff year, without depending on JavaFX,
+	 * see {@link FrozenYearCutoff#of(int)}.
+	 * @return the snapshot
+	 */
+	public FrozenYearCutoff freeze() {
+		return FrozenYearCutoff.of(getCutoffYear());
+	}
+	
+	/* GETTER */
+	
+	/**
+	 * @param shortYear the short year
+	 * @return the number of times the short year was added
+	 */
+	public long getCount(int shortYear) {
+		return counts[shortYear];
+	}
+	
+	/**
+	 * @return the number of short years added
+	 */
+	public long getTotal() {
+		return total;
+	}
+	
+	/**
+	 * @return the number of inputs ignored, because they weren't short years
+	 */
+	public long getIgnored() {
+		return ignored;
+	}
+	
+	/**
+	 * @return the reference year
+	 */
+	public int getReferenceYear() {
+		return referenceYear;
+	}
+	
+	/**
+	 * @return the behaviour placing the cutoff year relative to the reference year
+	 */
+	public YearCutoffBehaviour getPlacement() {
+		return placement;
+	}
+	
+	@Override
+	public String toString() {
+		return "YearCutoffAnalyser[cutoffYear=" + getCutoffYear() + ", confidence=" + getConfidence()
+				+ ", total=" + total + ", ignored=" + ignored + "]";
+	}
+}
@@ -24,13 +24,23 @@
 
 package de.dm.javafx.time.util.year;
 
-import de.dm.javafx.time.util.year.YearCutoff.YearArgument;
+import de.dm.javafx.time.util.year.AbstractYearCutoff.YearArgument;
 
 /**
- * An interface for the cutoff behaviour of a {@link YearCutoff}.
+ * An interface for the cutoff behaviour of a {@link YearCutoff} or any other {@link AbstractYearCutoff}.
+ * <p>
+ * Implementations implement every method in either the set taking a {@link YearCutoff}
+ * or the set taking an {@link AbstractYearCutoff}. A default method only delegates to the other set,
+ * if the implementation implements the method of the other set itself, otherwise it throws
+ * an {@link UnsupportedOperationException}. Interpreters reject a behaviour, which implements a method in neither set,
+ * with an {@link IllegalArgumentException}, see {@link AbstractYearCutoff#setBehaviour(YearCutoffBehaviour)}.
+ * <p>
+ * A {@link YearCutoff} asks the methods taking a {@link YearCutoff},
+ * other interpreters ask the methods taking an {@link AbstractYearCutoff}.
  * 
+ * @see IntYearCutoffBehaviour
  * @author David Meersteiner
- * @version 0.1.0
+ * @version 0.2.0
  */
 public interface YearCutoffBehaviour {
 
@@ -40,10 +50,63 @@ public interface YearCutoffBehaviour {
 	 * @param shortYear the short year argument given to the interpreter
 	 * @return the interpreted year for the given parameters
 	 */
-	int handleShortYearBeforeCutoff(YearCutoff cutoff, YearArgument shortYear);
+	default int handleShortYearBeforeCutoff(YearCutoff cutoff, YearArgument shortYear) {
+		if (!AbstractYearCutoff.implementsAbstractYearCutoffMethod(this, AbstractYearCutoff.BEFORE_CUTOFF)) {
+			throw AbstractYearCutoff.notImplemented(this, AbstractYearCutoff.BEFORE_CUTOFF);
+		}
+		return handleShortYearBeforeCutoff((AbstractYearCutoff) cutoff, shortYear);
+	}
 
-	int handleShortYearAfterCutoff(YearCutoff cutoff, YearArgument shortYear);
+	default int handleShortYearAfterCutoff(YearCutoff cutoff, YearArgument shortYear) {
+		if (!AbstractYearCutoff.implementsAbstractYearCutoffMethod(this, AbstractYearCutoff.AFTER_CUTOFF)) {
+			throw AbstractYearCutoff.notImplemented(this, AbstractYearCutoff.AFTER_CUTOFF);
+		}
+		return handleShortYearAfterCutoff((AbstractYearCutoff) cutoff, shortYear);
+	}
 
-	int handleShortYearOnCutoff(YearCutoff cutoff, YearArgument shortYear);
+	default int handleShortYearOnCutoff(YearCutoff cutoff, YearArgument shortYear) {
+		if (!AbstractYearCutoff.implementsAbstractYearCutoffMethod(this, AbstractYearCutoff.ON_CUTOFF)) {
+			throw AbstractYearCutoff.notImplemented(this, AbstractYearCutoff.ON_CUTOFF);
+		}
+		return handleShortYearOnCutoff((AbstractYearCutoff) cutoff, shortYear);
+	}
+	
+	/**
+	 * Handles a short year of any interpreter.
+	 * <p>
+	 * The default implementation calls {@link #handleShortYearBeforeCutoff(YearCutoff, YearArgument)},
+	 * if it is implemented, with a {@link YearCutoff} of the same cutoff year and short year digits,
+	 * if the interpreter isn't one.
+	 * @param cutoff the short year interpreter
+	 * @param shortYear the short year argument given to the interpreter
+	 * @return the interpreted year for the given parameters
+	 * @throws UnsupportedOperationException if neither method is implemented
+	 */
+	default int handleShortYearBeforeCutoff(AbstractYearCutoff cutoff, YearArgument shortYear) {
+		if (!AbstractYearCutoff.implementsYearCutoffMethod(this, AbstractYearCutoff.BEFORE_CUTOFF)) {
+			throw AbstractYearCutoff.notImplemented(this, AbstractYearCutoff.BEFORE_CUTOFF);
+		}
+		return handleShortYearBeforeCutoff(YearCutoff.asYearCutoff(cutoff), shortYear);
+	}
+
+	/**
+	 * @see #handleShortYearBeforeCutoff(AbstractYearCutoff, YearArgument)
+	 */
+	default int handleShortYearAfterCutoff(AbstractYearCutoff cutoff, YearArgument shortYear) {
+		if (!AbstractYearCutoff.implementsYearCutoffMethod(this, AbstractYearCutoff.AFTER_CUTOFF)) {
+			throw AbstractYearCutoff.notImplemented(this, AbstractYearCutoff.AFTER_CUTOFF);
+		}
+		return handleShortYearAfterCutoff(YearCutoff.asYearCutoff(cutoff), shortYear);
+	}
+
+	/**
+	 * @see #handleShortYearBeforeCutoff(AbstractYearCutoff, YearArgument)
+	 */
+	default int handleShortYearOnCutoff(AbstractYearCutoff cutoff, YearArgument shortYear) {
+		if (!AbstractYearCutoff.implementsYearCutoffMethod(this, AbstractYearCutoff.ON_CUTOFF)) {
+			throw AbstractYearCutoff.notImplemented(this, AbstractYearCutoff.ON_CUTOFF);
+		}
+		return handleShortYearOnCutoff(YearCutoff.asYearCutoff(cutoff), shortYear);
+	}
 
 }
\ No newline at end of file
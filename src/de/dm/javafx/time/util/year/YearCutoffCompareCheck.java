@@ -24,7 +24,7 @@
 
 package de.dm.javafx.time.util.year;
 
-import de.dm.javafx.time.util.year.YearCutoff.YearArgument;
+import de.dm.javafx.time.util.year.AbstractYearCutoff.YearArgument;
 
 /**
  * Utility class to compare a short year and a cutoff year.
@@ -42,8 +42,8 @@ public class YearCutoffCompareCheck {
 	 * @param cutoff the year cutoff class
 	 * @param shortYear the short year
 	 */
-	public YearCutoffCompareCheck(YearCutoff cutoff, YearArgument shortYear) {
-		YearArgument cutoffYear = new YearArgument(cutoff.getCutoffYear());
+	public YearCutoffCompareCheck(AbstractYearCutoff cutoff, YearArgument shortYear) {
+		YearArgument cutoffYear = new YearArgument(cutoff.getCutoffYear(), cutoff.getShortYearDigits());
 		shortIsBefore = shortYear.getYearAsInt() < cutoffYear.getEpochOffset(); 
 		shortIsAfter = shortYear.getYearAsInt() > cutoffYear.getEpochOffset();
 	}
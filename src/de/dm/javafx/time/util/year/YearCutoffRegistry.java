@@ -0,0 +1,230 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 David Meersteiner
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.dm.javafx.time.util.year;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * A registry of cutoff policies per tenant and field, e.g. for an import service serving many customers.
+ * <p>
+ * Every policy is an immutable {@link FrozenYearCutoff}, created by {@link FrozenYearCutoff#of(int, YearCutoffBehaviour, int)},
+ * so equal policies of different tenants share the same instance.
+ * Policies registered without a number of short year digits read 2-digit short years.
+ * The whole registry is an immutable map of tenants to immutable maps of fields to policies.
+ * Lookups read it without locking from any thread. Updates copy the affected tenant,
+ * and publish the new registry with a single compare-and-set, so readers never see a half-applied update.
+ * <p>
+ * The policy of a field falls back to the policy of its tenant, which falls back to the default policy.
+ * <p>
+ * Examples
+ * <code>
+ * YearCutoffRegistry registry = new YearCutoffRegistry(FrozenYearCutoff.of(2050));
+ * registry.register("acme", 2020, null);
+ * registry.register("acme", "birthDate", 2010, null);
+ * registry.get("acme", "birthDate").interpret("15"); // = 1915
+ * registry.get("acme", "orderDate").interpret("15"); // = 2015
+ * registry.get("other", "orderDate").interpret("60"); // = 1960
+ * </code>
+ * 
+ * @author David Meersteiner
+ * @version 0.1.0
+ */
+public final class YearCutoffRegistry {
+	
+	private final FrozenYearCutoff defaultPolicy;
+	private final AtomicReference<Map<String, Map<String, FrozenYearCutoff>>> policies =
+			new AtomicReference<>(Collections.emptyMap());
+	
+	/* CONSTRUCTORS */
+	
+	/**
+	 * Creates a new, empty registry.
+	 * @param defaultPolicy the policy of tenants without policies
+	 */
+	public YearCutoffRegistry(FrozenYearCutoff defaultPolicy) {
+		if (defaultPolicy == null) {
+			throw new NullPointerException("defaultPolicy");
+		}
+		this.defaultPolicy = defaultPolicy;
+	}
+	
+	/* CLASS METHODS */
+	
+	/**
+	 * Returns the policy of a field of a tenant, without locking.
+	 * @param tenant the tenant
+	 * @param field the field, or {@code null} for the policy of the tenant
+	 * @return the policy of the field, or else the policy of the tenant, or else the default policy
+	 */
+	public FrozenYearCutoff get(String tenant, String field) {
+		Map<String, FrozenYearCutoff> fields = policies.get().get(tenant);
+		if (fields == null) {
+			return defaultPolicy;
+		}
+		FrozenYearCutoff policy = fields.get(field);
+		if (policy == null) {
+			policy = fields.get(null);
+		}
+		return policy == null ? defaultPolicy : policy;
+	}
+	
+	/**
+	 * Returns the policy of a tenant, without locking.
+	 * @param tenant the tenant
+	 * @return the policy of the tenant, or else the default policy
+	 */
+	public FrozenYearCutoff get(String tenant) {
+		return get(tenant, null);
+	}
+	
+	/**
+	 * Returns all policies of a tenant, as they were at a single point in time.
+	 * @param tenant the tenant
+	 * @return the immutable map of fields to policies, with the policy of the tenant under the key {@code null}
+	 */
+	public Map<String, FrozenYearCutoff> getPolicies(String tenant) {
+		Map<String, FrozenYearCutoff> fields = policies.get().get(tenant);
+		return fields == null ? Collections.emptyMap() : fields;
+	}
+	
+	/**
+	 * Sets the policy of a tenant, used for all fields without their own policy, reading 2-digit short years.
+	 * @param tenant the tenant
+	 * @param cutoffYear the cutoff year
+	 * @param behaviour the behaviour, or {@code null} for the default behaviour
+	 * @return the new policy
+	 */
+	public FrozenYearCutoff register(String tenant, int cutoffYear, YearCutoffBehaviour behaviour) {
+		return register(tenant, null, cutoffYear, behaviour);
+	}
+	
+	/**
+	 * Sets the policy of a tenant, used for all fields without their own policy.
+	 * @param tenant the tenant
+	 * @param cutoffYear the cutoff year
+	 * @param behaviour the behaviour, or {@code null} for the default behaviour
+	 * @param shortYearDigits the maximal number of digits of a short year, see {@link YearCutoff#YearCutoff(int, int)}
+	 * @return the new policy
+	 */
+	public FrozenYearCutoff register(String tenant, int cutoffYear, YearCutoffBehaviour behaviour, int shortYearDigits) {
+		return register(tenant, null, cutoffYear, behaviour, shortYearDigits);
+	}
+	
+	/**
+	 * Sets the policy of a field of a tenant, reading 2-digit short years.
+	 * @param tenant the tenant
+	 * @param field the field, or {@code null} for the policy of the tenant
+	 * @param cutoffYear the cutoff year
+	 * @param behaviour the behaviour, or {@code null} for the default behaviour
+	 * @return the new policy
+	 */
+	public FrozenYearCutoff register(String tenant, String field, int cutoffYear, YearCutoffBehaviour behaviour) {
+		return register(tenant, field, cutoffYear, behaviour, AbstractYearCutoff.MAX_SHORTYEAR_DIGITS);
+	}
+	
+	/**
+	 * Sets the policy of a field of a tenant.
+	 * @param tenant the tenant
+	 * @param field the field, or {@code null} for the policy of the tenant
+	 * @param cutoffYear the cutoff year
+	 * @param behaviour the behaviour, or {@code null} for the default behaviour
+	 * @param shortYearDigits the maximal number of digits of a short year, see {@link YearCutoff#YearCutoff(int, int)}
+	 * @return the new policy
+	 */
+	public FrozenYearCutoff register(String tenant, String field, int cutoffYear, YearCutoffBehaviour behaviour,
+			int shortYearDigits) {
+		FrozenYearCutoff policy = FrozenYearCutoff.of(cutoffYear, behaviour, shortYearDigits);
+		update(tenant, fields -> fields.put(field, policy));
+		return policy;
+	}
+	
+	/**
+	 * Replaces all policies of a tenant at once.
+	 * @param tenant the tenant
+	 * @param fields the map of fields to policies, with the policy of the tenant under the key {@code null}
+	 */
+	public void replace(String tenant, Map<String, FrozenYearCutoff> fields) {
+		if (fields.containsValue(null)) {
+			throw new NullPointerException("policy");
+		}
+		update(tenant, current -> {
+			current.clear();
+			current.putAll(fields);
+		});
+	}
+	
+	/**
+	 * Removes the policy of a field of a tenant, so it falls back to the policy of the tenant.
+	 * @param tenant the tenant
+	 * @param field the field, or {@code null} for the policy of the tenant
+	 */
+	public void remove(String tenant, String field) {
+		update(tenant, fields -> fields.remove(field));
+	}
+	
+	/**
+	 * Removes all policies of a tenant, so it falls back to the default policy.
+	 * @param tenant the tenant
+	 */
+	public void remove(String tenant) {
+		update(tenant, Map::clear);
+	}
+	
+	private void update(String tenant, Consumer<Map<String, FrozenYearCutoff>> change) {
+		Map<String, Map<String, FrozenYearCutoff>> current;
+		Map<String, Map<String, FrozenYearCutoff>> updated;
+		do {
+			current = policies.get();
+			Map<String, FrozenYearCutoff> fields = current.get(tenant);
+			Map<String, FrozenYearCutoff> changedFields = fields == null ? new HashMap<>() : new HashMap<>(fields);
+			change.accept(changedFields);
+			updated = new HashMap<>(current);
+			if (changedFields.isEmpty()) {
+				updated.remove(tenant);
+			} else {
+				updated.put(tenant, Collections.unmodifiableMap(changedFields));
+			}
+			updated = Collections.unmodifiableMap(updated);
+		} while (!policies.compareAndSet(current, updated));
+	}
+	
+	/* GETTER */
+	
+	/**
+	 * @return the policy of tenants without policies
+	 */
+	public FrozenYearCutoff getDefaultPolicy() {
+		return defaultPolicy;
+	}
+	
+	@Override
+	public String toString() {
+		return "YearCutoffRegistry[tenants=" + policies.get().size() + "]";
+	}
+}
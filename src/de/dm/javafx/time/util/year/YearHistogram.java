@@ -0,0 +1,287 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 David Meersteiner
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.dm.javafx.time.util.year;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A histogram of interpreted years, counting how often every year occurred.
+ * <p>
+ * The counts are kept in a primitive array, which grows to cover the range of the added years,
+ * but never beyond a window of {@value #MAX_DENSE_YEARS} years around the first added year.
+ * Years outside of that window, e.g. a date like 20240101 in a column of short years,
+ * are counted in a sparse map instead, so a few outliers in dirty input can't make the histogram
+ * allocate memory for every year in between.
+ * Inputs, which couldn't be interpreted, are counted as failures.
+ * Instances aren't thread-safe, but can be merged, e.g. by the collector of
+ * {@link ShortYearStreams#toHistogram(ShortYearInterpreter)}.
+ * 
+ * @author David Meersteiner
+ * @version 0.1.0
+ */
+public final class YearHistogram {
+	
+	private static final int INITIAL_CAPACITY = 128;
+	
+	/**
+	 * The maximal number of years counted in the primitive array.
+	 * <p>
+	 * Current value = {@value}
+	 */
+	public static final int MAX_DENSE_YEARS = 512;
+	
+	private long[] counts = new long[0];
+	private int firstYear;
+	private TreeMap<Integer, Long> outliers;
+	private long total;
+	private long failures;
+	
+	/**
+	 * Adds a year.
+	 * @param year the year to count
+	 */
+	public void add(int year) {
+		addCount(year, 1);
+	}
+	
+	/**
+	 * Adds an input, which couldn't be interpreted.
+	 */
+	public void addFailure() {
+		failures++;
+	}
+	
+	/**
+	 * Adds the result of a {@code tryInterpret} method,
+	 * either as a year or as a failure, see {@link YearParseResult}.
+	 * @param result the result to count
+	 */
+	public void addResult(long result) {
+		if (YearParseResult.isOk(result)) {
+			add(YearParseResult.getYear(result));
+		} else {
+			addFailure();
+		}
+	}
+	
+	/**
+	 * Adds all counts of another histogram to this one.
+	 * @param other the histogram to merge
+	 * @return this histogram
+	 */
+	public YearHistogram merge(YearHistogram other) {
+		for (int index = 0; index < other.counts.length; index++) {
+			if (other.counts[index] != 0) {
+				addCount(other.firstYear + index, other.counts[index]);
+			}
+		}
+		if (other.outliers != null) {
+			for (Map.Entry<Integer, Long> outlier : other.outliers.entrySet()) {
+				addCount(outlier.getKey(), outlier.getValue());
+			}
+		}
+		failures += other.failures;
+		return this;
+	}
+	
+	/**
+	 * @param year the year
+	 * @return how often the year was added
+	 */
+	public long getCount(int year) {
+		long index = (long) year - firstYear;
+		if (index >= 0 && index < counts.length) {
+			return counts[(int) index];
+		}
+		if (outliers == null) {
+			return 0;
+		}
+		return outliers.getOrDefault(year, 0L);
+	}
+	
+	/**
+	 * @return the number of added years, not including failures
+	 */
+	public long getTotal() {
+		return total;
+	}
+	
+	/**
+	 * @return the number of added failures
+	 */
+	public long getFailures() {
+		return failures;
+	}
+	
+	/**
+	 * @return the number of distinct added years, which lie outside of the window of the primitive array
+	 */
+	public int getOutlierCount() {
+		return outliers == null ? 0 : outliers.size();
+	}
+	
+	/**
+	 * @return the smallest added year
+	 * @throws IllegalStateException if no year was added
+	 */
+	public int getFirstYear() {
+		checkNotEmpty();
+		long first = Long.MAX_VALUE;
+		for (int index = 0; index < counts.length; index++) {
+			if (counts[index] != 0) {
+				first = firstYear + index;
+				break;
+			}
+		}
+		if (outliers != null && !outliers.isEmpty()) {
+			first = Math.min(first, outliers.firstKey());
+		}
+		return (int) first;
+	}
+	
+	/**
+	 * @return the largest added year
+	 * @throws IllegalStateException if no year was added
+	 */
+	public int getLastYear() {
+		checkNotEmpty();
+		long last = Long.MIN_VALUE;
+		for (int index = counts.length - 1; index >= 0; index--) {
+			if (counts[index] != 0) {
+				last = firstYear + index;
+				break;
+			}
+		}
+		if (outliers != null && !outliers.isEmpty()) {
+			last = Math.max(last, outliers.lastKey());
+		}
+		return (int) last;
+	}
+	
+	private void checkNotEmpty() {
+		if (total == 0) {
+			throw new IllegalStateException("no year was added");
+		}
+	}
+	
+	private void addCount(int year, long count) {
+		if (fitsWindow(year)) {
+			counts[year - firstYear] += count;
+		} else {
+			if (outliers == null) {
+				outliers = new TreeMap<>();
+			}
+			outliers.merge(year, count, Long::sum);
+		}
+		total += count;
+	}
+	
+	/**
+	 * Grows the primitive array to cover the given year, as long as the window stays small enough.
+	 * @param year the year
+	 * @return {@code true}, if the year is covered by the primitive array, {@code false} if it is an outlier
+	 */
+	private boolean fitsWindow(int year) {
+		if (counts.length == 0) {
+			counts = new long[INITIAL_CAPACITY];
+			firstYear = (int) Math.max(Integer.MIN_VALUE, (long) year - INITIAL_CAPACITY / 2);
+			return true;
+		}
+		long index = (long) year - firstYear;
+		if (index >= 0 && index < counts.length) {
+			return true;
+		}
+		long newFirstYear = Math.min(firstYear, year);
+		long newLastYear = Math.max((long) firstYear + counts.length - 1, year);
+		if (newLastYear - newFirstYear + 1 > MAX_DENSE_YEARS) {
+			return false;
+		}
+		long capacity = Math.min(MAX_DENSE_YEARS, Math.max(counts.length * 2L, newLastYear - newFirstYear + 1));
+		if (index < 0) {
+			// grow to the front, keeping the free space before the first year
+			newFirstYear = Math.max(Integer.MIN_VALUE, newLastYear - capacity + 1);
+		}
+		long[] grown = new long[(int) capacity];
+		System.arraycopy(counts, 0, grown, (int) (firstYear - newFirstYear), counts.length);
+		counts = grown;
+		firstYear = (int) newFirstYear;
+		return true;
+	}
+	
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof YearHistogram)) {
+			return false;
+		}
+		YearHistogram other = (YearHistogram) obj;
+		if (total != other.total || failures != other.failures) {
+			return false;
+		}
+		// all counts are positive and the totals are equal, so the other histogram can't have additional years
+		for (int index = 0; index < counts.length; index++) {
+			if (counts[index] != 0 && other.getCount(firstYear + index) != counts[index]) {
+				return false;
+			}
+		}
+		if (outliers != null) {
+			for (Map.Entry<Integer, Long> outlier : outliers.entrySet()) {
+				if (other.getCount(outlier.getKey()) != outlier.getValue()) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+	
+	@Override
+	public int hashCode() {
+		// a sum, so it doesn't depend on which years are outliers
+		int hash = Long.hashCode(failures);
+		for (int index = 0; index < counts.length; index++) {
+			if (counts[index] != 0) {
+				hash += 31 * (firstYear + index) + Long.hashCode(counts[index]);
+			}
+		}
+		if (outliers != null) {
+			for (Map.Entry<Integer, Long> outlier : outliers.entrySet()) {
+				hash += 31 * outlier.getKey() + Long.hashCode(outlier.getValue());
+			}
+		}
+		return hash;
+	}
+	
+	@Override
+	public String toString() {
+		if (total == 0) {
+			return "YearHistogram[total=0, failures=" + failures + "]";
+		}
+		return "YearHistogram[" + getFirstYear() + ".." + getLastYear()
+				+ ", total=" + total + ", failures=" + failures + "]";
+	}
+}
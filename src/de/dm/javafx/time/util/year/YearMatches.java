@@ -0,0 +1,163 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 David Meersteiner
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.dm.javafx.time.util.year;
+
+import java.util.Arrays;
+
+/**
+ * A reusable buffer of years found in a text, see {@link YearScanner}.
+ * <p>
+ * Every match is kept as a triple of primitive {@code int}s: the start index of the token, inclusive,
+ * its end index, exclusive, and the interpreted year.
+ * The span of a token always covers its prefix, i.e. the apostrophe, the {@code FY} or the {@code Q},
+ * every separator, the digits and the decade suffix, but never a word in front of the prefix,
+ * e.g. {@code Q3 '24} spans 6 characters, {@code FY 2023} spans 7 and {@code Summer'98} spans 3. The triples are stored in a single array,
+ * which only grows, so a buffer that is cleared and refilled stops creating objects once it is large enough.
+ * Instances aren't thread-safe.
+ * <p>
+ * Examples
+ * <code>
+ * YearMatches matches = new YearMatches();
+ * new YearScanner(new YearCutoff(2020)).scan("class of '05", matches);
+ * matches.size();      // = 1
+ * matches.getStart(0); // = 9
+ * matches.getEnd(0);   // = 12
+ * matches.getYear(0);  // = 2005
+ * matches.clear();
+ * </code>
+ * 
+ * @author David Meersteiner
+ * @version 0.1.0
+ */
+public final class YearMatches {
+	
+	private static final int DEFAULT_CAPACITY = 16;
+	private static final int TRIPLE = 3;
+	
+	private int[] triples;
+	private int size;
+	
+	/**
+	 * Creates a new buffer with room for a default number of matches.
+	 */
+	public YearMatches() {
+		this(DEFAULT_CAPACITY);
+	}
+	
+	/**
+	 * Creates a new buffer with room for the given number of matches.
+	 * @param initialCapacity the number of matches to make room for
+	 * @throws IllegalArgumentException if the capacity is negative
+	 */
+	public YearMatches(int initialCapacity) {
+		if (initialCapacity < 0) {
+			throw new IllegalArgumentException("negative capacity: " + initialCapacity);
+		}
+		triples = new int[initialCapacity * TRIPLE];
+	}
+	
+	/**
+	 * @return the number of matches
+	 */
+	public int size() {
+		return size;
+	}
+	
+	/**
+	 * @return {@code true}, if the buffer holds no matches, {@code false} otherwise.
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+	
+	/**
+	 * @param index the index of the match
+	 * @return the index of the first character of the token, i.e. of its prefix
+	 */
+	public int getStart(int index) {
+		return triples[checkIndex(index) * TRIPLE];
+	}
+	
+	/**
+	 * @param index the index of the match
+	 * @return the index after the last character of the token, including its suffix
+	 */
+	public int getEnd(int index) {
+		return triples[checkIndex(index) * TRIPLE + 1];
+	}
+	
+	/**
+	 * @param index the index of the match
+	 * @return the interpreted year
+	 */
+	public int getYear(int index) {
+		return triples[checkIndex(index) * TRIPLE + 2];
+	}
+	
+	/**
+	 * Removes all matches, but keeps the memory for reuse.
+	 */
+	public void clear() {
+		size = 0;
+	}
+	
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder("YearMatches[");
+		for (int i = 0; i < size; i++) {
+			if (i > 0) {
+				builder.append(", ");
+			}
+			builder.append(getStart(i)).append('-').append(getEnd(i)).append('=').append(getYear(i));
+		}
+		return builder.append(']').toString();
+	}
+	
+	/* PACKAGE FUNCTIONS */
+	
+	/**
+	 * Appends a match.
+	 * @param start the start index of the token, inclusive
+	 * @param end the end index of the token, exclusive
+	 * @param year the interpreted year
+	 */
+	void add(int start, int end, int year) {
+		int position = size * TRIPLE;
+		if (position == triples.length) {
+			triples = Arrays.copyOf(triples, Math.max(DEFAULT_CAPACITY * TRIPLE, triples.length * 2));
+		}
+		triples[position] = start;
+		triples[position + 1] = end;
+		triples[position + 2] = year;
+		size++;
+	}
+	
+	private int checkIndex(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("index " + index + ", size " + size);
+		}
+		return index;
+	}
+}
@@ -0,0 +1,187 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 David Meersteiner
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.dm.javafx.time.util.year;
+
+import de.dm.javafx.time.exception.StacklessNumberParseException;
+
+/**
+ * Utility class to read the results of the non-throwing {@code tryInterpret} methods.
+ * <p>
+ * A result is a primitive {@code long}, which packs a status and a year.
+ * If the status is {@link YearParseResult#OK}, {@link YearParseResult#getYear(long)} returns the interpreted year.
+ * If the status is {@link YearParseResult#NON_DIGIT} or {@link YearParseResult#OVERFLOW},
+ * {@link YearParseResult#getPosition(long)} returns the index of the offending character in the input.
+ * <p>
+ * Examples
+ * <code>
+ * YearCutoff yc = new YearCutoff(2020);
+ * long result = yc.tryInterpret("10");
+ * YearParseResult.isOk(result);        // = true
+ * YearParseResult.getYear(result);     // = 2010
+ * 
+ * result = yc.tryInterpret("1x");
+ * YearParseResult.getStatus(result);   // = NON_DIGIT
+ * YearParseResult.getPosition(result); // = 1
+ * </code>
+ * @author David Meersteiner
+ * @version 0.1.0
+ */
+public final class YearParseResult {
+	
+	/**
+	 * Status of a successfully interpreted year.
+	 * <p>
+	 * Current value = {@value}
+	 */
+	public static final int OK = 0;
+	
+	/**
+	 * Status of an input, which was empty or only contained whitespace.
+	 * <p>
+	 * Current value = {@value}
+	 */
+	public static final int EMPTY = 1;
+	
+	/**
+	 * Status of an input, which contained a character that is not a digit.
+	 * <p>
+	 * Current value = {@value}
+	 */
+	public static final int NON_DIGIT = 2;
+	
+	/**
+	 * Status of an input, which contained a number too large for an {@code int}.
+	 * <p>
+	 * Current value = {@value}
+	 */
+	public static final int OVERFLOW = 3;
+	
+	private static final int LENGTH_SHIFT = 32;
+	private static final int STATUS_SHIFT = 48;
+	private static final long LENGTH_MASK = 0xFFFFL;
+	private static final long STATUS_MASK = 0xFFL;
+	private static final long VALUE_MASK = 0xFFFFFFFFL;
+	
+	private YearParseResult() {
+		// utility class
+	}
+	
+	/**
+	 * @param result a result
+	 * @return {@code true}, if the result holds an interpreted year, {@code false} otherwise.
+	 */
+	public static boolean isOk(long result) {
+		return getStatus(result) == OK;
+	}
+	
+	/**
+	 * @param result a result
+	 * @return the status of the result, one of {@link YearParseResult#OK}, {@link YearParseResult#EMPTY},
+	 * {@link YearParseResult#NON_DIGIT} or {@link YearParseResult#OVERFLOW}.
+	 */
+	public static int getStatus(long result) {
+		return (int) (result >>> STATUS_SHIFT & STATUS_MASK);
+	}
+	
+	/**
+	 * @param result a result with the status {@link YearParseResult#OK}
+	 * @return the interpreted year
+	 */
+	public static int getYear(long result) {
+		return (int) result;
+	}
+	
+	/**
+	 * @param result a result with the status {@link YearParseResult#NON_DIGIT} or {@link YearParseResult#OVERFLOW}
+	 * @return the index of the offending character in the input
+	 */
+	public static int getPosition(long result) {
+		return (int) result;
+	}
+	
+	/**
+	 * Returns the interpreted year of a result, or throws a cheap exception without a stack trace.
+	 * @param result a result
+	 * @return the interpreted year
+	 * @throws StacklessNumberParseException if the status of the result isn't {@link YearParseResult#OK}
+	 */
+	public static int getYearOrThrow(long result) throws StacklessNumberParseException {
+		if (!isOk(result)) {
+			throw new StacklessNumberParseException(toString(result));
+		}
+		return getYear(result);
+	}
+	
+	/**
+	 * @param result a result
+	 * @return a description of the result
+	 */
+	public static String toString(long result) {
+		switch (getStatus(result)) {
+			case OK:
+				return "OK: " + getYear(result);
+			case EMPTY:
+				return "EMPTY";
+			case NON_DIGIT:
+				return "NON_DIGIT at position " + getPosition(result);
+			case OVERFLOW:
+				return "OVERFLOW at position " + getPosition(result);
+			default:
+				return "UNKNOWN";
+		}
+	}
+	
+	/* PACKAGE FUNCTIONS */
+	
+	/**
+	 * Packs a result.
+	 * @param status the status
+	 * @param length the number of code points of the trimmed input
+	 * @param value the year or the position
+	 * @return the packed result
+	 */
+	static long of(int status, int length, int value) {
+		return (long) status << STATUS_SHIFT
+				| Math.min(length, LENGTH_MASK) << LENGTH_SHIFT
+				| value & VALUE_MASK;
+	}
+	
+	/**
+	 * @param result a result
+	 * @param year the year to set
+	 * @return the result with its year replaced
+	 */
+	static long withYear(long result, int year) {
+		return result & ~VALUE_MASK | year & VALUE_MASK;
+	}
+	
+	/**
+	 * @param result a result
+	 * @return the number of code points of the trimmed input
+	 */
+	static int getLength(long result) {
+		return (int) (result >>> LENGTH_SHIFT & LENGTH_MASK);
+	}
+}
@@ -0,0 +1,399 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 David Meersteiner
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.dm.javafx.time.util.year;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import de.dm.javafx.time.exception.NumberParseException;
+
+/**
+ * Utility class to parse years from {@code CharSequence}s and UTF-8 bytes without creating any objects.
+ * <p>
+ * The parser follows the rules of {@link String#trim()} and {@link Integer#parseInt(String)}:
+ * leading and trailing characters up to {@code ' '} are skipped,
+ * an optional sign is accepted and all remaining characters have to be decimal digits.
+ * Digits of any script are accepted, see {@link UnicodeDigits}, also outside of the Basic Multilingual Plane.
+ * <p>
+ * The result is packed into a single {@code long}, see {@link YearParseResult},
+ * which holds the parsed year, the number of code points of the trimmed input and a status.
+ * Counting code points instead of {@code char}s or bytes keeps the check for short years correct,
+ * e.g. the full-width {@code "\uFF19\uFF18"} has two digits, although it takes six bytes in UTF-8.
+ * 
+ * @author David Meersteiner
+ * @version 0.2.0
+ */
+final class YearParser {
+	
+	private static final int SEQUENCE_LENGTH_SHIFT = 24;
+	private static final int CODE_POINT_MASK = (1 << SEQUENCE_LENGTH_SHIFT) - 1;
+	
+	/**
+	 * The result of decoding a malformed sequence, a single byte that isn't a digit.
+	 */
+	private static final int MALFORMED = 1 << SEQUENCE_LENGTH_SHIFT | 0xFFFD;
+	
+	/**
+	 * The result of {@code accumulate} for a value, which doesn't fit the limit.
+	 * Accumulated values are never positive.
+	 */
+	private static final int OVERFLOWED = 1;
+	
+	private YearParser() {
+		// utility class
+	}
+	
+	/**
+	 * Parses the year contained in the given range of a {@code CharSequence}.
+	 * @param year the sequence containing the year
+	 * @param start the start index, inclusive
+	 * @param end the end index, exclusive
+	 * @return the packed parse result
+	 */
+	static long parse(CharSequence year, int start, int end) {
+		while (start < end && year.charAt(start) <= ' ') {
+			start++;
+		}
+		while (start < end && year.charAt(end - 1) <= ' ') {
+			end--;
+		}
+		if (start == end) {
+			return YearParseResult.of(YearParseResult.EMPTY, 0, 0);
+		}
+		int length = end - start;
+		int index = start;
+		int codePoints = 0;
+		boolean negative = false;
+		int limit = -Integer.MAX_VALUE;
+		char first = year.charAt(index);
+		if (first == '-' || first == '+') {
+			if (first == '-') {
+				negative = true;
+				limit = Integer.MIN_VALUE;
+			}
+			if (++index == end) {
+				return YearParseResult.of(YearParseResult.NON_DIGIT, length, start);
+			}
+			codePoints++;
+		}
+		int value = 0;
+		while (index < end) {
+			char c = year.charAt(index);
+			int codePoint = c;
+			int next = index + 1;
+			if (Character.isHighSurrogate(c) && next < end && Character.isLowSurrogate(year.charAt(next))) {
+				codePoint = Character.toCodePoint(c, year.charAt(next++));
+			}
+			int digit = UnicodeDigits.digit(codePoint);
+			if (digit < 0) {
+				return YearParseResult.of(YearParseResult.NON_DIGIT, length, index);
+			}
+			value = accumulate(value, digit, limit);
+			if (value == OVERFLOWED) {
+				return YearParseResult.of(YearParseResult.OVERFLOW, length, index);
+			}
+			index = next;
+			codePoints++;
+		}
+		return YearParseResult.of(YearParseResult.OK, codePoints, negative ? value : -value);
+	}
+	
+	/**
+	 * Parses the year contained in the given range of a UTF-8 encoded {@code byte} array.
+	 * <p>
+	 * Malformed sequences aren't digits, so they fail with {@link YearParseResult#NON_DIGIT}
+	 * at the index of their first byte.
+	 * @param year the array containing the year
+	 * @param offset the index of the first byte
+	 * @param length the number of bytes
+	 * @return the packed parse result
+	 * @throws IndexOutOfBoundsException if the range doesn't fit the array
+	 */
+	static long parse(byte[] year, int offset, int length) {
+		checkRange(offset, length, year.length);
+		int start = offset;
+		int end = offset + length;
+		while (start < end && (year[start] & 0xFF) <= ' ') {
+			start++;
+		}
+		while (start < end && (year[end - 1] & 0xFF) <= ' ') {
+			end--;
+		}
+		if (start == end) {
+			return YearParseResult.of(YearParseResult.EMPTY, 0, 0);
+		}
+		int trimmedLength = end - start;
+		int index = start;
+		int codePoints = 0;
+		boolean negative = false;
+		int limit = -Integer.MAX_VALUE;
+		byte first = year[index];
+		if (first == '-' || first == '+') {
+			if (first == '-') {
+				negative = true;
+				limit = Integer.MIN_VALUE;
+			}
+			if (++index == end) {
+				return YearParseResult.of(YearParseResult.NON_DIGIT, trimmedLength, start);
+			}
+			codePoints++;
+		}
+		int value = 0;
+		while (index < end) {
+			int codePoint = year[index];
+			int next = index + 1;
+			if (codePoint < 0) {
+				int decoded = decode(year, index, end);
+				codePoint = decoded & CODE_POINT_MASK;
+				next = index + (decoded >>> SEQUENCE_LENGTH_SHIFT);
+			}
+			int digit = UnicodeDigits.digit(codePoint);
+			if (digit < 0) {
+				return YearParseResult.of(YearParseResult.NON_DIGIT, trimmedLength, index);
+			}
+			value = accumulate(value, digit, limit);
+			if (value == OVERFLOWED) {
+				return YearParseResult.of(YearParseResult.OVERFLOW, trimmedLength, index);
+			}
+			index = next;
+			codePoints++;
+		}
+		return YearParseResult.of(YearParseResult.OK, codePoints, negative ? value : -value);
+	}
+	
+	/**
+	 * Parses the year contained in the given range of a UTF-8 encoded {@code ByteBuffer},
+	 * using absolute indices, so neither the position nor the limit of the buffer change.
+	 * <p>
+	 * Buffers backed by an accessible array are parsed directly from that array,
+	 * any other buffer, e.g. a direct one, is read in place.
+	 * @param year the buffer containing the year
+	 * @param offset the index of the first byte
+	 * @param length the number of bytes
+	 * @return the packed parse result
+	 * @throws IndexOutOfBoundsException if the range doesn't fit the limit of the buffer
+	 */
+	static long parse(ByteBuffer year, int offset, int length) {
+		checkRange(offset, length, year.limit());
+		if (year.hasArray()) {
+			int arrayOffset = year.arrayOffset();
+			long result = parse(year.array(), arrayOffset + offset, length);
+			int status = YearParseResult.getStatus(result);
+			if (status == YearParseResult.NON_DIGIT || status == YearParseResult.OVERFLOW) {
+				return YearParseResult.of(status, YearParseResult.getLength(result),
+						YearParseResult.getPosition(result) - arrayOffset);
+			}
+			return result;
+		}
+		int start = offset;
+		int end = offset + length;
+		while (start < end && (year.get(start) & 0xFF) <= ' ') {
+			start++;
+		}
+		while (start < end && (year.get(end - 1) & 0xFF) <= ' ') {
+			end--;
+		}
+		if (start == end) {
+			return YearParseResult.of(YearParseResult.EMPTY, 0, 0);
+		}
+		int trimmedLength = end - start;
+		int index = start;
+		int codePoints = 0;
+		boolean negative = false;
+		int limit = -Integer.MAX_VALUE;
+		byte first = year.get(index);
+		if (first == '-' || first == '+') {
+			if (first == '-') {
+				negative = true;
+				limit = Integer.MIN_VALUE;
+			}
+			if (++index == end) {
+				return YearParseResult.of(YearParseResult.NON_DIGIT, trimmedLength, start);
+			}
+			codePoints++;
+		}
+		int value = 0;
+		while (index < end) {
+			int codePoint = year.get(index);
+			int next = index + 1;
+			if (codePoint < 0) {
+				int decoded = decode(year, index, end);
+				codePoint = decoded & CODE_POINT_MASK;
+				next = index + (decoded >>> SEQUENCE_LENGTH_SHIFT);
+			}
+			int digit = UnicodeDigits.digit(codePoint);
+			if (digit < 0) {
+				return YearParseResult.of(YearParseResult.NON_DIGIT, trimmedLength, index);
+			}
+			value = accumulate(value, digit, limit);
+			if (value == OVERFLOWED) {
+				return YearParseResult.of(YearParseResult.OVERFLOW, trimmedLength, index);
+			}
+			index = next;
+			codePoints++;
+		}
+		return YearParseResult.of(YearParseResult.OK, codePoints, negative ? value : -value);
+	}
+	
+	/**
+	 * Appends a digit to a value, which is accumulated negatively like {@link Integer#parseInt(String)} does,
+	 * so {@link Integer#MIN_VALUE} fits.
+	 * @param value the value accumulated so far, {@code 0} or negative
+	 * @param digit the digit to append
+	 * @param limit the smallest value allowed, {@code -Integer.MAX_VALUE} or {@link Integer#MIN_VALUE}
+	 * @return the new value, or {@code OVERFLOWED}, if it would be smaller than the limit
+	 */
+	private static int accumulate(int value, int digit, int limit) {
+		if (value < limit / 10) {
+			return OVERFLOWED;
+		}
+		value *= 10;
+		if (value < limit + digit) {
+			return OVERFLOWED;
+		}
+		return value - digit;
+	}
+	
+	private static void checkRange(int offset, int length, int limit) {
+		if (offset < 0 || length < 0 || offset > limit - length) {
+			throw new IndexOutOfBoundsException("offset " + offset + ", length " + length + ", limit " + limit);
+		}
+	}
+	
+	/**
+	 * Decodes the multi-byte UTF-8 sequence starting at the given index.
+	 * @param bytes the array containing the sequence
+	 * @param index the index of the lead byte, which is {@code 0x80} or larger
+	 * @param end the end index, exclusive
+	 * @return the length of the sequence shifted by {@code SEQUENCE_LENGTH_SHIFT} or'ed with the code point,
+	 * or {@code MALFORMED}
+	 */
+	private static int decode(byte[] bytes, int index, int end) {
+		int lead = bytes[index] & 0xFF;
+		int length = sequenceLength(lead);
+		if (length == 0 || end - index < length) {
+			return MALFORMED;
+		}
+		int codePoint = lead & 0x7F >>> length;
+		for (int i = 1; i < length; i++) {
+			int continuation = bytes[index + i];
+			if ((continuation & 0xC0) != 0x80) {
+				return MALFORMED;
+			}
+			codePoint = codePoint << 6 | continuation & 0x3F;
+		}
+		return checkDecoded(length, codePoint);
+	}
+	
+	/**
+	 * Decodes the multi-byte UTF-8 sequence starting at the given index.
+	 * @param bytes the buffer containing the sequence
+	 * @param index the index of the lead byte, which is {@code 0x80} or larger
+	 * @param end the end index, exclusive
+	 * @return the length of the sequence shifted by {@code SEQUENCE_LENGTH_SHIFT} or'ed with the code point,
+	 * or {@code MALFORMED}
+	 */
+	private static int decode(ByteBuffer bytes, int index, int end) {
+		int lead = bytes.get(index) & 0xFF;
+		int length = sequenceLength(lead);
+		if (length == 0 || end - index < length) {
+			return MALFORMED;
+		}
+		int codePoint = lead & 0x7F >>> length;
+		for (int i = 1; i < length; i++) {
+			int continuation = bytes.get(index + i);
+			if ((continuation & 0xC0) != 0x80) {
+				return MALFORMED;
+			}
+			codePoint = codePoint << 6 | continuation & 0x3F;
+		}
+		return checkDecoded(length, codePoint);
+	}
+	
+	/**
+	 * @param lead the lead byte of a multi-byte sequence
+	 * @return the length of the sequence, or {@code 0} if the byte can't start one
+	 */
+	private static int sequenceLength(int lead) {
+		if (lead < 0xC2) {
+			return 0;
+		} else if (lead < 0xE0) {
+			return 2;
+		} else if (lead < 0xF0) {
+			return 3;
+		} else if (lead < 0xF5) {
+			return 4;
+		}
+		return 0;
+	}
+	
+	private static int checkDecoded(int length, int codePoint) {
+		// reject overlong encodings, so no digit has more than one, and anything beyond the last code point
+		int minimum = length == 2 ? 0x80 : length == 3 ? 0x800 : 0x10000;
+		if (codePoint < minimum || codePoint > Character.MAX_CODE_POINT) {
+			return MALFORMED;
+		}
+		return length << SEQUENCE_LENGTH_SHIFT | codePoint;
+	}
+	
+	/**
+	 * Creates the exception thrown for an input, which couldn't be parsed.
+	 * @param year the sequence containing the year
+	 * @param start the start index, inclusive
+	 * @param end the end index, exclusive
+	 * @return the exception, equal to the one thrown for {@code String}s
+	 */
+	static NumberParseException toException(CharSequence year, int start, int end) {
+		String input = year.subSequence(start, end).toString().trim();
+		return new NumberParseException(new NumberFormatException("For input string: \"" + input + "\""));
+	}
+	
+	/**
+	 * Creates the exception thrown for an input, which couldn't be parsed.
+	 * @param year the array containing the year
+	 * @param offset the index of the first byte
+	 * @param length the number of bytes
+	 * @return the exception, equal to the one thrown for {@code String}s
+	 */
+	static NumberParseException toException(byte[] year, int offset, int length) {
+		String input = new String(year, offset, length, StandardCharsets.UTF_8);
+		return toException(input, 0, input.length());
+	}
+	
+	/**
+	 * Creates the exception thrown for an input, which couldn't be parsed.
+	 * @param year the buffer containing the year
+	 * @param offset the index of the first byte
+	 * @param length the number of bytes
+	 * @return the exception, equal to the one thrown for {@code String}s
+	 */
+	static NumberParseException toException(ByteBuffer year, int offset, int length) {
+		byte[] bytes = new byte[length];
+		for (int i = 0; i < length; i++) {
+			bytes[i] = year.get(offset + i);
+		}
+		return toException(bytes, 0, length);
+	}
+}
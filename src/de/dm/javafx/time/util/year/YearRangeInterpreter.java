@@ -0,0 +1,292 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 David Meersteiner
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.dm.javafx.time.util.year;
+
+import de.dm.javafx.time.exception.NumberParseException;
+
+/**
+ * Interprets year ranges like {@code "98-03"}, {@code "1998-05"} or {@code "'98\u2013'03"}, whose end may be abbreviated.
+ * <p>
+ * The start of a range is interpreted by the given {@link ShortYearInterpreter}, e.g. a {@link YearCutoff},
+ * so short starts follow its cutoff. The end is resolved relative to the start instead:
+ * an end of less than four digits replaces as many trailing digits of the start year,
+ * and if that would end the range before its start, the next decade, century or millennium is taken.
+ * So a range never goes backwards, an end of four or more digits before its start is rejected.
+ * A single year without an end is a range of one year.
+ * <p>
+ * Start and end are separated by a hyphen, an en dash (U+2013) or a slash, optionally surrounded by spaces,
+ * and each may be preceded by an apostrophe. Signs aren't accepted, as the hyphen separates the years.
+ * The input is read without regular expressions and without creating any objects.
+ * A range is returned as a single {@code long}, which packs the start year and the end year, both inclusive,
+ * see {@link YearRangeInterpreter#getStartYear(long)} and {@link YearRangeInterpreter#getEndYear(long)}.
+ * <p>
+ * Examples
+ * <code>
+ * YearRangeInterpreter interpreter = new YearRangeInterpreter(new YearCutoff(2020));
+ * long range = interpreter.interpret("98-03");
+ * YearRangeInterpreter.getStartYear(range);        // = 1998
+ * YearRangeInterpreter.getEndYear(range);          // = 2003
+ * interpreter.interpret("1998-05");                // = 1998 to 2005
+ * interpreter.interpret("1995-7");                 // = 1995 to 1997
+ * interpreter.interpret("2019/2");                 // = 2019 to 2022
+ * interpreter.interpret("1998-1990");              // Exception thrown
+ * YearRangeInterpreter.isValid(interpreter.tryInterpret("98-")); // = false
+ * </code>
+ * Instances are immutable and may be shared by threads, if their interpreter may be shared.
+ * 
+ * @author David Meersteiner
+ * @version 0.1.0
+ */
+public final class YearRangeInterpreter {
+	
+	/**
+	 * The result of an input, which isn't a year range.
+	 * Its start year is after its end year, which no valid range has.
+	 */
+	public static final long INVALID = pack(Integer.MAX_VALUE, Integer.MIN_VALUE);
+	
+	private static final int LONG_YEAR_DIGITS = 4;
+	private static final int[] POWERS_OF_TEN = { 1, 10, 100, 1000 };
+	
+	private final ShortYearInterpreter startInterpreter;
+	
+	/**
+	 * Creates a new interpreter.
+	 * @param startInterpreter the interpreter of the start of a range
+	 */
+	public YearRangeInterpreter(ShortYearInterpreter startInterpreter) {
+		if (startInterpreter == null) {
+			throw new NullPointerException("startInterpreter");
+		}
+		this.startInterpreter = startInterpreter;
+	}
+	
+	/* CLASS METHODS */
+	
+	/**
+	 * Interprets a {@code CharSequence}, which may contain a year range.
+	 * @param range the possible year range
+	 * @throws NumberParseException if the parameter isn't a year range
+	 * @return the packed range
+	 */
+	public long interpret(CharSequence range) throws NumberParseException {
+		long result = tryInterpret(range);
+		if (!isValid(result)) {
+			throw YearParser.toException(range, 0, range.length());
+		}
+		return result;
+	}
+	
+	/**
+	 * Interprets a {@code CharSequence}, which may contain a year range, without throwing an exception.
+	 * @param range the possible year range
+	 * @return the packed range, or {@link YearRangeInterpreter#INVALID}
+	 */
+	public long tryInterpret(CharSequence range) {
+		return tryInterpret(range, 0, range.length());
+	}
+	
+	/**
+	 * Interprets a range of a {@code CharSequence}, which may contain a year range, without throwing an exception.
+	 * @param range the sequence containing the possible year range
+	 * @param start the start index, inclusive
+	 * @param end the end index, exclusive
+	 * @return the packed range, or {@link YearRangeInterpreter#INVALID}
+	 */
+	public long tryInterpret(CharSequence range, int start, int end) {
+		while (start < end && range.charAt(start) <= ' ') {
+			start++;
+		}
+		while (start < end && range.charAt(end - 1) <= ' ') {
+			end--;
+		}
+		int index = skipApostrophe(range, start, end);
+		int startDigits = index;
+		index = skipDigits(range, index, end);
+		int startDigitsEnd = index;
+		if (startDigits == startDigitsEnd) {
+			return INVALID;
+		}
+		long startResult = startInterpreter.tryInterpret(range, startDigits, startDigitsEnd);
+		if (!YearParseResult.isOk(startResult)) {
+			return INVALID;
+		}
+		int startYear = YearParseResult.getYear(startResult);
+		if (index == end) {
+			return pack(startYear, startYear);
+		}
+		index = skipSpaces(range, index, end);
+		char separator = range.charAt(index);
+		if (separator != '-' && separator != '\u2013' && separator != '/') {
+			return INVALID;
+		}
+		index = skipSpaces(range, index + 1, end);
+		index = skipApostrophe(range, index, end);
+		int endDigits = index;
+		index = skipDigits(range, index, end);
+		if (index != end || endDigits == end) {
+			return INVALID;
+		}
+		long endResult = YearParser.parse(range, endDigits, end);
+		if (!YearParseResult.isOk(endResult)) {
+			return INVALID;
+		}
+		return resolve(startYear, YearParseResult.getYear(endResult), end - endDigits);
+	}
+	
+	/**
+	 * Interprets a batch of {@code CharSequence}s, which may contain year ranges,
+	 * without throwing an exception for inputs that aren't year ranges.
+	 * <p>
+	 * The range at index {@code i} is written to {@code startYears[i]} and {@code endYears[i]}.
+	 * Failures are marked in the error bitmap like {@link ShortYearInterpreter#interpretAll(CharSequence[], int[], long[])} does,
+	 * both of their years are {@code 0}. No objects are created.
+	 * @param ranges the possible year ranges
+	 * @param startYears the array receiving the start years, at least as long as the batch
+	 * @param endYears the array receiving the end years, at least as long as the batch
+	 * @param errors the error bitmap, at least {@code (ranges.length + 63) / 64} long
+	 * @return the number of inputs, which couldn't be interpreted
+	 */
+	public int interpretAll(CharSequence[] ranges, int[] startYears, int[] endYears, long[] errors) {
+		return interpretAll(ranges, 0, ranges.length, startYears, endYears, errors);
+	}
+	
+	/**
+	 * Interprets a range of a batch of {@code CharSequence}s, which may contain year ranges,
+	 * without throwing an exception for inputs that aren't year ranges.
+	 * For more information see {@link YearRangeInterpreter#interpretAll(CharSequence[], int[], int[], long[])}.
+	 * Bits of the error bitmap outside of the range aren't changed.
+	 * @param ranges the possible year ranges
+	 * @param from the first index, inclusive
+	 * @param to the last index, exclusive
+	 * @param startYears the array receiving the start years
+	 * @param endYears the array receiving the end years
+	 * @param errors the error bitmap
+	 * @return the number of inputs in the range, which couldn't be interpreted
+	 */
+	public int interpretAll(CharSequence[] ranges, int from, int to, int[] startYears, int[] endYears, long[] errors) {
+		YearBatch.checkRange(from, to, ranges.length, startYears, errors);
+		if (to > endYears.length) {
+			throw new IndexOutOfBoundsException("endYears too short: " + endYears.length + " < " + to);
+		}
+		long word = 0;
+		for (int i = from; i < to; i++) {
+			CharSequence range = ranges[i];
+			long result = range == null ? INVALID : tryInterpret(range);
+			boolean failed = !isValid(result);
+			startYears[i] = failed ? 0 : getStartYear(result);
+			endYears[i] = failed ? 0 : getEndYear(result);
+			word = YearBatch.collectError(errors, from, to, i, word, failed);
+		}
+		return YearBatch.countErrors(errors, from, to);
+	}
+	
+	/**
+	 * @return the interpreter of the start of a range
+	 */
+	public ShortYearInterpreter getStartInterpreter() {
+		return startInterpreter;
+	}
+	
+	/* RESULT FUNCTIONS */
+	
+	/**
+	 * @param range a result
+	 * @return {@code true}, if the result holds a range, {@code false} if it is {@link YearRangeInterpreter#INVALID}.
+	 */
+	public static boolean isValid(long range) {
+		return getStartYear(range) <= getEndYear(range);
+	}
+	
+	/**
+	 * @param range a valid result
+	 * @return the first year of the range
+	 */
+	public static int getStartYear(long range) {
+		return (int) (range >> 32);
+	}
+	
+	/**
+	 * @param range a valid result
+	 * @return the last year of the range
+	 */
+	public static int getEndYear(long range) {
+		return (int) range;
+	}
+	
+	/* UTILITY FUNCTIONS */
+	
+	/**
+	 * Resolves the end of a range relative to its start.
+	 * @param startYear the interpreted start year
+	 * @param endValue the parsed end
+	 * @param endDigits the number of digits of the end
+	 * @return the packed range, or {@link YearRangeInterpreter#INVALID}
+	 */
+	private static long resolve(int startYear, int endValue, int endDigits) {
+		long endYear;
+		if (endDigits >= LONG_YEAR_DIGITS) {
+			endYear = endValue;
+		} else {
+			int power = POWERS_OF_TEN[endDigits];
+			endYear = (long) startYear - Math.floorMod(startYear, power) + endValue;
+			if (endYear < startYear) {
+				endYear += power;
+			}
+		}
+		if (endYear < startYear || endYear > Integer.MAX_VALUE) {
+			return INVALID;
+		}
+		return pack(startYear, (int) endYear);
+	}
+	
+	private static long pack(int startYear, int endYear) {
+		return (long) startYear << 32 | endYear & 0xFFFFFFFFL;
+	}
+	
+	private static int skipApostrophe(CharSequence range, int index, int end) {
+		if (index < end) {
+			char c = range.charAt(index);
+			if (c == '\'' || c == '\u2018' || c == '\u2019') {
+				return index + 1;
+			}
+		}
+		return index;
+	}
+	
+	private static int skipDigits(CharSequence range, int index, int end) {
+		while (index < end && UnicodeDigits.digit(range.charAt(index)) >= 0) {
+			index++;
+		}
+		return index;
+	}
+	
+	private static int skipSpaces(CharSequence range, int index, int end) {
+		while (index < end && range.charAt(index) == ' ') {
+			index++;
+		}
+		return index;
+	}
+}
@@ -0,0 +1,263 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 David Meersteiner
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.dm.javafx.time.util.year;
+
+/**
+ * Finds years in free text in a single pass, without regular expressions and without creating any objects.
+ * <p>
+ * The scanner recognises these tokens, ignoring the case of their letters:
+ * <ul>
+ * <li>apostrophe years like {@code '98} or {@code Summer'98}, also with the typographic apostrophes
+ * U+2018 and U+2019, exactly two digits, optionally followed by the decade suffix {@code s}, e.g. {@code '90s}</li>
+ * <li>fiscal years like {@code FY23}, {@code FY'23}, {@code FY 23}, {@code FY '23} or {@code FY2023}</li>
+ * <li>quarters like {@code Q3'24}, {@code Q3/24}, {@code Q3-24}, {@code Q3 '24} or {@code Q3 2024}</li>
+ * </ul>
+ * Tokens have to stand alone, i.e. no letter or digit follows the year, the {@code FY} and {@code Q} prefixes start a word
+ * and an apostrophe right after a digit, like in {@code 5'10}, isn't an apostrophe year.
+ * An apostrophe may follow a letter though, as the word in front of it, like {@code Summer}, is free text and not a prefix.
+ * The two or four digits of a token are interpreted by the given {@link ShortYearInterpreter},
+ * so short years follow its cutoff, while long years stay unchanged.
+ * Decimal digits of any script in the Basic Multilingual Plane are accepted, like {@link AbstractYearCutoff#interpret(String)} does.
+ * <p>
+ * The text is read by a hand-written state machine, which looks at every character once,
+ * apart from the character ending a failed token, which is looked at again as a possible start of the next one.
+ * Every match is appended to a reusable {@link YearMatches} buffer as a (start, end, year) triple.
+ * For every kind of token the span starts at its prefix, i.e. the apostrophe, the {@code FY} or the {@code Q},
+ * covers all separators in between and ends after the digits or the decade suffix,
+ * so {@code Q3 '24} spans all 6 characters, while {@code Summer'98} only spans {@code '98}.
+ * <p>
+ * Examples
+ * <code>
+ * YearScanner scanner = new YearScanner(new YearCutoff(2030));
+ * YearMatches matches = new YearMatches();
+ * scanner.scan("Class of '98, revenue FY23 and Q3/24", matches); // = 3
+ * matches.getYear(0); // = 1998
+ * matches.getYear(1); // = 2023
+ * matches.getYear(2); // = 2024
+ * </code>
+ * Instances are immutable and may be shared by threads, if their interpreter may be shared.
+ * 
+ * @author David Meersteiner
+ * @version 0.1.0
+ */
+public final class YearScanner {
+	
+	/* STATES */
+	
+	/** Between words, a token may start here. */
+	private static final int BOUNDARY = 0;
+	/** Inside a word, which isn't a token. */
+	private static final int WORD = 1;
+	/** After the apostrophe of an apostrophe year. */
+	private static final int APOSTROPHE = 2;
+	/** After the {@code F} of a fiscal year. */
+	private static final int FISCAL_F = 3;
+	/** After the {@code FY} of a fiscal year. */
+	private static final int FISCAL_Y = 4;
+	/** After the {@code Q} of a quarter. */
+	private static final int QUARTER_Q = 5;
+	/** After the number of a quarter. */
+	private static final int QUARTER = 6;
+	/** After the separator in front of the digits of a fiscal year or a quarter. */
+	private static final int SEPARATOR = 7;
+	/** Inside the digits of a token. */
+	private static final int DIGITS = 8;
+	
+	private final ShortYearInterpreter interpreter;
+	
+	/**
+	 * Creates a new scanner.
+	 * @param interpreter the interpreter of the digits of the tokens
+	 */
+	public YearScanner(ShortYearInterpreter interpreter) {
+		if (interpreter == null) {
+			throw new NullPointerException("interpreter");
+		}
+		this.interpreter = interpreter;
+	}
+	
+	/**
+	 * @return the interpreter of the digits of the tokens
+	 */
+	public ShortYearInterpreter getInterpreter() {
+		return interpreter;
+	}
+	
+	/**
+	 * Finds all years in a text and appends them to the given buffer.
+	 * @param text the text to scan
+	 * @param matches the buffer receiving the matches, which isn't cleared
+	 * @return the number of matches appended
+	 */
+	public int scan(CharSequence text, YearMatches matches) {
+		return scan(text, 0, text.length(), matches);
+	}
+	
+	/**
+	 * Finds all years in a range of a text and appends them to the given buffer.
+	 * <p>
+	 * The borders of the range count as word borders. The indices of the matches refer to the whole text.
+	 * @param text the text to scan
+	 * @param start the start index, inclusive
+	 * @param end the end index, exclusive
+	 * @param matches the buffer receiving the matches, which isn't cleared
+	 * @return the number of matches appended
+	 */
+	public int scan(CharSequence text, int start, int end, YearMatches matches) {
+		if (start < 0 || start > end || end > text.length()) {
+			throw new IndexOutOfBoundsException("start " + start + ", end " + end + ", length " + text.length());
+		}
+		int found = 0;
+		int state = BOUNDARY;
+		int tokenStart = start;
+		int digitStart = start;
+		boolean apostropheYear = false;
+		int index = start;
+		while (index < end) {
+			char c = text.charAt(index);
+			switch (state) {
+				case BOUNDARY:
+					tokenStart = index;
+					if (isApostrophe(c)) {
+						// 5'10 is a length
+						state = index > start && isDigit(text.charAt(index - 1)) ? BOUNDARY : APOSTROPHE;
+					} else if (c == 'F' || c == 'f') {
+						state = FISCAL_F;
+					} else if (c == 'Q' || c == 'q') {
+						state = QUARTER_Q;
+					} else if (Character.isLetterOrDigit(c)) {
+						state = WORD;
+					}
+					index++;
+					break;
+				case WORD:
+					if (Character.isLetterOrDigit(c)) {
+						index++;
+					} else {
+						// let the boundary look at the character, it may start a token like Summer'98
+						state = BOUNDARY;
+					}
+					break;
+				case APOSTROPHE:
+				case SEPARATOR:
+					if (state == SEPARATOR && isApostrophe(c) && text.charAt(index - 1) == ' ') {
+						// Q3 '24, the apostrophe belongs to the separator
+						index++;
+					} else if (isDigit(c)) {
+						apostropheYear = state == APOSTROPHE;
+						digitStart = index;
+						state = DIGITS;
+					} else {
+						state = WORD;
+					}
+					break;
+				case FISCAL_F:
+					if (c == 'Y' || c == 'y') {
+						state = FISCAL_Y;
+						index++;
+					} else {
+						state = WORD;
+					}
+					break;
+				case FISCAL_Y:
+					if (isDigit(c)) {
+						apostropheYear = false;
+						digitStart = index;
+						state = DIGITS;
+					} else if (c == ' ' || isApostrophe(c)) {
+						state = SEPARATOR;
+						index++;
+					} else {
+						state = WORD;
+					}
+					break;
+				case QUARTER_Q:
+					if (c >= '1' && c <= '4') {
+						state = QUARTER;
+						index++;
+					} else {
+						state = WORD;
+					}
+					break;
+				case QUARTER:
+					if (c == ' ' || c == '/' || c == '-' || isApostrophe(c)) {
+						state = SEPARATOR;
+						index++;
+					} else {
+						state = WORD;
+					}
+					break;
+				case DIGITS:
+					if (isDigit(c)) {
+						index++;
+						break;
+					}
+					int tokenEnd = index;
+					if (apostropheYear && (c == 's' || c == 'S') && (index + 1 == end || !Character.isLetterOrDigit(text.charAt(index + 1)))) {
+						tokenEnd++;
+					} else if (Character.isLetterOrDigit(c)) {
+						state = WORD;
+						break;
+					}
+					found += match(text, tokenStart, digitStart, index, tokenEnd, apostropheYear, matches);
+					index = tokenEnd;
+					state = BOUNDARY;
+					break;
+				default:
+					throw new IllegalStateException("state " + state);
+			}
+		}
+		if (state == DIGITS) {
+			found += match(text, tokenStart, digitStart, end, end, apostropheYear, matches);
+		}
+		return found;
+	}
+	
+	/**
+	 * Interprets the digits of a token and appends the match, if they form a year.
+	 * @return {@code 1}, if a match was appended, {@code 0} otherwise
+	 */
+	private int match(CharSequence text, int tokenStart, int digitStart, int digitEnd, int tokenEnd,
+			boolean apostropheYear, YearMatches matches) {
+		int digits = digitEnd - digitStart;
+		if (digits != 2 && (apostropheYear || digits != 4)) {
+			return 0;
+		}
+		long result = interpreter.tryInterpret(text, digitStart, digitEnd);
+		if (!YearParseResult.isOk(result)) {
+			return 0;
+		}
+		matches.add(tokenStart, tokenEnd, YearParseResult.getYear(result));
+		return 1;
+	}
+	
+	private static boolean isApostrophe(char c) {
+		return c == '\'' || c == '\u2018' || c == '\u2019';
+	}
+	
+	private static boolean isDigit(char c) {
+		return UnicodeDigits.digit(c) >= 0;
+	}
+}
@@ -0,0 +1,107 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 David Meersteiner
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.dm.test.javafx.time;
+
+import static org.junit.Assert.*;
+import static org.hamcrest.CoreMatchers.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.dm.javafx.time.util.year.CompactDateParser;
+import de.dm.javafx.time.util.year.CompactDateParser.Layout;
+import de.dm.javafx.time.util.year.YearCutoff;
+
+public class CompactDateParserTest {
+
+	private YearCutoff yearCutoff;
+	
+	@Before
+	public void setUp() throws Exception {
+		yearCutoff = new YearCutoff(2020);
+	}
+	
+	@Test
+	public void testAllDaysOfCutoffWindow() {
+		assertAllDays(Layout.YY_MM_DD, "yyMMdd");
+		assertAllDays(Layout.DD_MM_YY, "ddMMyy");
+		assertAllDays(Layout.YYYY_MM_DD, "yyyyMMdd");
+	}
+	
+	@Test
+	public void testPackedDate() {
+		CompactDateParser parser = new CompactDateParser(yearCutoff, Layout.YY_MM_DD);
+		int packed = parser.parsePackedDate(bytes("x991231"), 1);
+		assertThat(packed, is(19991231));
+		assertThat(CompactDateParser.getYear(packed), is(1999));
+		assertThat(CompactDateParser.getMonth(packed), is(12));
+		assertThat(CompactDateParser.getDay(packed), is(31));
+		assertThat(parser.parseEpochDay(bytes("700101"), 0), is(0L));
+	}
+	
+	@Test
+	public void testInvalidTokens() {
+		CompactDateParser shortParser = new CompactDateParser(yearCutoff, Layout.YY_MM_DD);
+		CompactDateParser longParser = new CompactDateParser(yearCutoff, Layout.YYYY_MM_DD);
+		String[] shortTokens = { "991301", "990001", "990100", "990230", "010229", "99123a", "9912 1", "99:231", "-91231" };
+		for (String token : shortTokens) {
+			assertThat(token, shortParser.parsePackedDate(bytes(token), 0), is(CompactDateParser.INVALID_PACKED_DATE));
+			assertThat(token, shortParser.parseEpochDay(bytes(token), 0), is(CompactDateParser.INVALID_EPOCH_DAY));
+		}
+		assertThat(longParser.parsePackedDate(bytes("19000229"), 0), is(CompactDateParser.INVALID_PACKED_DATE));
+		assertThat(longParser.parsePackedDate(bytes("20000229"), 0), is(20000229));
+		assertThat(longParser.parsePackedDate(bytes("2000022\u00b9"), 0), is(CompactDateParser.INVALID_PACKED_DATE));
+	}
+	
+	@Test(expected=IndexOutOfBoundsException.class)
+	public void testTokenTooShort() {
+		new CompactDateParser(yearCutoff, Layout.YYYY_MM_DD).parsePackedDate(bytes("991231"), 0);
+	}
+	
+	private void assertAllDays(Layout layout, String pattern) {
+		CompactDateParser parser = new CompactDateParser(yearCutoff, layout);
+		DateTimeFormatter formatter = DateTimeFormatter.ofPattern(pattern);
+		ByteBuffer buffer = ByteBuffer.allocateDirect(layout.getLength());
+		for (LocalDate date = LocalDate.of(1921, 1, 1); date.getYear() <= 2020; date = date.plusDays(1)) {
+			byte[] token = bytes(date.format(formatter));
+			buffer.clear();
+			buffer.put(token);
+			int packed = date.getYear() * 10000 + date.getMonthValue() * 100 + date.getDayOfMonth();
+			assertThat(parser.parsePackedDate(token, 0), is(packed));
+			assertThat(parser.parseEpochDay(token, 0), is(date.toEpochDay()));
+			assertThat(parser.parseEpochDay(buffer, 0), is(date.toEpochDay()));
+		}
+	}
+	
+	private static byte[] bytes(String token) {
+		return token.getBytes(StandardCharsets.ISO_8859_1);
+	}
+
+}
@@ -0,0 +1,125 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 David Meersteiner
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.dm.test.javafx.time;
+
+import static org.junit.Assert.*;
+import static org.hamcrest.CoreMatchers.*;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.dm.javafx.time.util.year.FixedWidthYearParser;
+import de.dm.javafx.time.util.year.YearCutoff;
+
+public class FixedWidthYearParserTest {
+
+	private YearCutoff yearCutoff;
+	
+	@Before
+	public void setUp() throws Exception {
+		yearCutoff = new YearCutoff(2020);
+	}
+	
+	@Test
+	public void testTwoDigits() {
+		String[] fields = { "10", "20", "30", "00", "99", "05", "2 ", " 2", "x9", "9:", "/0" };
+		assertFields(2, fields);
+	}
+	
+	@Test
+	public void testFourDigits() {
+		String[] fields = { "1850", "2020", "0005", "9999", "0000", "19a5", "195 ", "-195", "2:00", "\u00ff999" };
+		assertFields(4, fields);
+	}
+	
+	@Test
+	public void testOtherWidths() {
+		assertFields(1, new String[] { "0", "5", "9", "x" });
+		assertFields(3, new String[] { "005", "999", "1x0" });
+		assertFields(9, new String[] { "000002020", "99999999x" });
+	}
+	
+	@Test(expected=IndexOutOfBoundsException.class)
+	public void testRecordsTooShort() {
+		new FixedWidthYearParser(yearCutoff, 2).parseAll(new byte[10], 0, 4, 2, 3, new int[3], new long[1]);
+	}
+	
+	private void assertFields(int width, String[] fields) {
+		int recordLength = width + 3;
+		StringBuilder records = new StringBuilder("#");
+		for (String field : fields) {
+			records.append("id").append(field).append(';');
+		}
+		byte[] bytes = records.toString().getBytes(StandardCharsets.ISO_8859_1);
+		ByteBuffer bigEndian = ByteBuffer.allocateDirect(bytes.length);
+		bigEndian.put(bytes);
+		ByteBuffer littleEndian = ByteBuffer.allocateDirect(bytes.length).order(ByteOrder.LITTLE_ENDIAN);
+		littleEndian.put(bytes);
+		FixedWidthYearParser parser = new FixedWidthYearParser(yearCutoff, width);
+		
+		int[] years = new int[fields.length];
+		long[] errors = new long[1];
+		assertThat(parser.parseAll(bytes, 1, recordLength, 2, fields.length, years, errors), is(expectedFailures(fields)));
+		assertYears(fields, years, errors);
+		assertThat(parser.parseAll(bigEndian, 1, recordLength, 2, fields.length, years, errors), is(expectedFailures(fields)));
+		assertYears(fields, years, errors);
+		assertThat(parser.parseAll(littleEndian, 1, recordLength, 2, fields.length, years, errors), is(expectedFailures(fields)));
+		assertYears(fields, years, errors);
+		assertThat(parser.parseAll(ByteBuffer.wrap(bytes), 1, recordLength, 2, fields.length, years, errors), is(expectedFailures(fields)));
+		assertYears(fields, years, errors);
+	}
+	
+	private int expectedFailures(String[] fields) {
+		int failures = 0;
+		for (String field : fields) {
+			if (!isDigits(field)) {
+				failures++;
+			}
+		}
+		return failures;
+	}
+	
+	private void assertYears(String[] fields, int[] years, long[] errors) {
+		for (int i = 0; i < fields.length; i++) {
+			boolean failed = (errors[0] & 1L << i) != 0;
+			if (isDigits(fields[i])) {
+				assertThat(fields[i], failed, is(false));
+				assertThat(fields[i], years[i], is(yearCutoff.interpret(fields[i])));
+			} else {
+				assertThat(fields[i], failed, is(true));
+				assertThat(fields[i], years[i], is(0));
+			}
+		}
+	}
+	
+	private boolean isDigits(String field) {
+		return field.matches("[0-9]+");
+	}
+
+}
@@ -0,0 +1,113 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 David Meersteiner
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.dm.test.javafx.time;
+
+import static org.junit.Assert.*;
+import static org.hamcrest.CoreMatchers.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.IntStream;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.dm.javafx.time.exception.NumberParseException;
+import de.dm.javafx.time.util.year.BasicYearCutoffHandler;
+import de.dm.javafx.time.util.year.FrozenYearCutoff;
+import de.dm.javafx.time.util.year.YearCutoff;
+
+public class FrozenYearCutoffTest {
+
+	private static final String[] SAMPLE_YEARS = {
+			"10", "20", "30", "0", "1850", "0005", "005", "05", "5", " 10 ", "+5", "+05", "-5", "-2147483648" };
+	
+	private YearCutoff yearCutoff;
+	
+	@Before
+	public void setUp() throws Exception {
+		yearCutoff = new YearCutoff(2020);
+	}
+	
+	@Test
+	public void testEqualsYearCutoff() {
+		FrozenYearCutoff frozen = yearCutoff.freeze();
+		for (String year : SAMPLE_YEARS) {
+			int expected = yearCutoff.interpret(year);
+			byte[] bytes = year.getBytes(StandardCharsets.US_ASCII);
+			assertThat(year, frozen.interpret(year), is(expected));
+			assertThat(year, frozen.interpret(bytes, 0, bytes.length), is(expected));
+			assertThat(year, frozen.interpret(ByteBuffer.wrap(bytes), 0, bytes.length), is(expected));
+		}
+	}
+	
+	@Test
+	public void testSnapshot() {
+		FrozenYearCutoff frozen = yearCutoff.freeze();
+		yearCutoff.setCutoffYear(2040);
+		yearCutoff.setBehaviour(new BasicYearCutoffHandler());
+		assertThat(frozen.interpret("30"), is(1930));
+		assertThat(frozen.getCutoffYear(), is(2020));
+		assertThat(frozen.getBehaviour(), is(notNullValue()));
+		assertThat(yearCutoff.freeze().interpret("30"), is(2030));
+	}
+	
+	@Test
+	public void testSharedByThreads() {
+		FrozenYearCutoff frozen = yearCutoff.freeze();
+		long sum = IntStream.range(0, 100_000).parallel()
+				.map(i -> frozen.interpret(String.valueOf(i % 100)))
+				.asLongStream().sum();
+		assertThat(sum, is(1000L * (1921 + 2020) * 100 / 2));
+	}
+	
+	@Test
+	public void testCanonical() {
+		FrozenYearCutoff frozen = FrozenYearCutoff.of(2050);
+		assertThat(FrozenYearCutoff.of(2050), is(sameInstance(frozen)));
+		assertThat(FrozenYearCutoff.of(2050, null), is(sameInstance(frozen)));
+		assertThat(frozen.getCutoffYear(), is(2050));
+		assertThat(frozen.interpret("50"), is(2050));
+		assertThat(frozen.interpret("51"), is(1951));
+		assertThat(FrozenYearCutoff.of(2051), is(not(sameInstance(frozen))));
+		assertThat(FrozenYearCutoff.of(2050, null, 3), is(not(sameInstance(frozen))));
+		assertThat(FrozenYearCutoff.of(2050, null, 3).interpret("051"), is(1051));
+	}
+	
+	@Test
+	public void testCanonicalBehaviour() {
+		BasicYearCutoffHandler behaviour = new BasicYearCutoffHandler();
+		FrozenYearCutoff frozen = FrozenYearCutoff.of(2050, behaviour);
+		assertThat(FrozenYearCutoff.of(2050, behaviour), is(sameInstance(frozen)));
+		assertThat(FrozenYearCutoff.of(2050, new BasicYearCutoffHandler()), is(not(sameInstance(frozen))));
+		assertThat(frozen.getBehaviour(), is(sameInstance((Object) behaviour)));
+	}
+	
+	@Test(expected=NumberParseException.class)
+	public void testNonIntegers() {
+		yearCutoff.freeze().interpret("foobar");
+	}
+
+}
@@ -0,0 +1,105 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 David Meersteiner
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.dm.test.javafx.time;
+
+import static org.junit.Assert.*;
+import static org.hamcrest.CoreMatchers.*;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.dm.javafx.time.util.year.ParallelYearInterpreter;
+import de.dm.javafx.time.util.year.YearCutoff;
+
+public class ParallelYearInterpreterTest {
+
+	private static final int SIZE = 100_003;
+	
+	private YearCutoff yearCutoff;
+	private ForkJoinPool pool;
+	private CharSequence[] shortYears;
+	
+	@Before
+	public void setUp() throws Exception {
+		yearCutoff = new YearCutoff(2020);
+		pool = new ForkJoinPool(4);
+		shortYears = new CharSequence[SIZE];
+		for (int i = 0; i < SIZE; i++) {
+			shortYears[i] = i % 11 == 5 ? "n/a" : String.valueOf(i % 2000);
+		}
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		pool.shutdown();
+	}
+	
+	@Test
+	public void testArrayEqualsSequential() {
+		ParallelYearInterpreter parallel = new ParallelYearInterpreter(yearCutoff, pool, 100);
+		assertThat(parallel.getThreshold(), is(128));
+		int[] years = new int[SIZE];
+		long[] errors = new long[(SIZE + 63) / 64];
+		Arrays.fill(errors, -1L);
+		int failures = parallel.interpretAll(shortYears, years, errors);
+		assertSequential(years, errors, failures, -1L);
+	}
+	
+	@Test
+	public void testListEqualsSequential() {
+		ParallelYearInterpreter parallel = new ParallelYearInterpreter(yearCutoff, pool, 100);
+		int[] years = new int[SIZE];
+		long[] errors = new long[(SIZE + 63) / 64];
+		int failures = parallel.interpretAll(Arrays.asList(shortYears), years, errors);
+		assertSequential(years, errors, failures, 0L);
+		failures = parallel.interpretAll(new LinkedList<>(Arrays.asList(shortYears)), years, errors);
+		assertSequential(years, errors, failures, 0L);
+	}
+	
+	@Test
+	public void testImmutableView() {
+		ParallelYearInterpreter parallel = new ParallelYearInterpreter(yearCutoff);
+		yearCutoff.setCutoffYear(2040);
+		int[] years = new int[1];
+		parallel.interpretAll(new CharSequence[] { "30" }, years, new long[1]);
+		assertThat(years[0], is(1930));
+	}
+	
+	private void assertSequential(int[] years, long[] errors, int failures, long initialErrors) {
+		int[] expectedYears = new int[SIZE];
+		long[] expectedErrors = new long[errors.length];
+		Arrays.fill(expectedErrors, initialErrors);
+		int expectedFailures = yearCutoff.interpretAll(shortYears, expectedYears, expectedErrors);
+		assertThat(failures, is(expectedFailures));
+		assertArrayEquals(expectedYears, years);
+		assertArrayEquals(expectedErrors, errors);
+	}
+
+}
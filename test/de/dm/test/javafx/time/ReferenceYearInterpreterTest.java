@@ -0,0 +1,181 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 David Meersteiner
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.dm.test.javafx.time;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.*;
+import static org.hamcrest.CoreMatchers.*;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.dm.javafx.time.exception.NumberParseException;
+import de.dm.javafx.time.util.year.AbstractYearCutoff;
+import de.dm.javafx.time.util.year.AbstractYearCutoff.YearArgument;
+import de.dm.javafx.time.util.year.BasicYearCutoffHandler;
+import de.dm.javafx.time.util.year.FutureYearCutoffHandler;
+import de.dm.javafx.time.util.year.ReferenceYearInterpreter;
+import de.dm.javafx.time.util.year.SimpleYearCutoff;
+import de.dm.javafx.time.util.year.YearParseResult;
+
+public class ReferenceYearInterpreterTest {
+
+	private static final int SIZE = 1000;
+	
+	private ReferenceYearInterpreter interpreter;
+	private String[] shortYears;
+	private int[] referenceYears;
+	
+	@Before
+	public void setUp() throws Exception {
+		interpreter = new ReferenceYearInterpreter();
+		shortYears = new String[SIZE];
+		referenceYears = new int[SIZE];
+		for (int i = 0; i < SIZE; i++) {
+			shortYears[i] = i % 50 == 7 ? "x" + i : String.format("%02d", i % 100);
+			referenceYears[i] = 1950 + i % 77;
+		}
+	}
+	
+	@Test
+	public void testExamples() {
+		assertThat(interpreter.interpret("99", 2001), is(1999));
+		assertThat(interpreter.interpret("01", 2001), is(2001));
+		assertThat(interpreter.interpret("02", 2001), is(1902));
+		assertThat(interpreter.interpret("1850", 2001), is(1850));
+	}
+	
+	@Test
+	public void testEqualsYearCutoff() {
+		int[] years = new int[SIZE];
+		long[] errors = new long[(SIZE + 63) / 64];
+		int failures = interpreter.interpretAll(shortYears, referenceYears, years, errors);
+		int expectedFailures = 0;
+		for (int i = 0; i < SIZE; i++) {
+			boolean failed = (errors[i >>> 6] & 1L << i) != 0;
+			long expected = new SimpleYearCutoff(referenceYears[i]).tryInterpret(shortYears[i]);
+			assertThat(shortYears[i], failed, is(!YearParseResult.isOk(expected)));
+			if (failed) {
+				expectedFailures++;
+				assertThat(years[i], is(0));
+			} else {
+				assertThat(shortYears[i], years[i], is(YearParseResult.getYear(expected)));
+			}
+		}
+		assertThat(failures, is(expectedFailures));
+	}
+	
+	@Test
+	public void testOffsetAndBehaviour() {
+		ReferenceYearInterpreter future = new ReferenceYearInterpreter(new FutureYearCutoffHandler(), 1);
+		assertThat(future.interpret("20", 2020), is(2120));
+		assertThat(future.interpret("21", 2020), is(2021));
+		byte[] bytes = "21".getBytes(StandardCharsets.US_ASCII);
+		assertThat(YearParseResult.getYear(future.tryInterpret(bytes, 0, bytes.length, 2030)), is(2121));
+	}
+	
+	@Test
+	public void testObjectBehaviour() {
+		BasicYearCutoffHandler behaviour = new BasicYearCutoffHandler() {
+			@Override
+			public int handleShortYearAfterCutoff(AbstractYearCutoff cutoff, YearArgument shortYear) {
+				return -cutoff.getCutoffYear();
+			}
+		};
+		ReferenceYearInterpreter interpreter = new ReferenceYearInterpreter(behaviour, 0);
+		assertThat(interpreter.interpret("30", 2020), is(-2020));
+		assertThat(interpreter.interpret("30", 2040), is(2030));
+		assertThat(interpreter.interpret("10", 2020), is(2010));
+		SimpleYearCutoff yearCutoff = new SimpleYearCutoff(2001);
+		yearCutoff.setBehaviour(behaviour);
+		assertThat(interpreter.interpret("50", 2001), is(yearCutoff.interpret("50")));
+	}
+	
+	@Test
+	public void testRangeKeepsOtherBits() {
+		int[] years = new int[SIZE];
+		long[] errors = { -1L, -1L, -1L };
+		interpreter.interpretAll(shortYears, referenceYears, 60, 130, years, errors);
+		assertThat(errors[0] & 0x0FFFFFFFFFFFFFFFL, is(0x0FFFFFFFFFFFFFFFL));
+		assertThat(errors[2] >>> 2, is(-1L >>> 2));
+		assertThat(errors[1], is(1L << (107 - 64)));
+	}
+	
+	@Test
+	public void testAllocatesNothing() {
+		assertAllocatesNothing(interpreter);
+	}
+	
+	@Test
+	public void testObjectBehaviourAllocatesNothing() {
+		ReferenceYearInterpreter objectBehaviour = new ReferenceYearInterpreter(new BasicYearCutoffHandler() {
+			@Override
+			public int handleShortYearAfterCutoff(AbstractYearCutoff cutoff, YearArgument shortYear) {
+				return super.handleShortYearAfterCutoff(cutoff, shortYear);
+			}
+		}, 0);
+		int[] years = new int[SIZE];
+		int[] expected = new int[SIZE];
+		long[] errors = new long[(SIZE + 63) / 64];
+		objectBehaviour.interpretAll(shortYears, referenceYears, years, errors);
+		interpreter.interpretAll(shortYears, referenceYears, expected, errors);
+		assertArrayEquals(expected, years);
+		assertAllocatesNothing(objectBehaviour);
+	}
+	
+	private void assertAllocatesNothing(ReferenceYearInterpreter tested) {
+		java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+		com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) bean;
+		assumeTrue(threadBean.isThreadAllocatedMemorySupported());
+		threadBean.setThreadAllocatedMemoryEnabled(true);
+		int[] years = new int[SIZE];
+		long[] errors = new long[(SIZE + 63) / 64];
+		for (int i = 0; i < 1000; i++) {
+			tested.interpretAll(shortYears, referenceYears, years, errors);
+		}
+		long threadId = Thread.currentThread().getId();
+		long before = threadBean.getThreadAllocatedBytes(threadId);
+		for (int i = 0; i < 100; i++) {
+			tested.interpretAll(shortYears, referenceYears, years, errors);
+		}
+		long allocated = threadBean.getThreadAllocatedBytes(threadId) - before;
+		assertThat(allocated / (100L * SIZE), is(0L));
+	}
+	
+	@Test(expected=IndexOutOfBoundsException.class)
+	public void testReferenceYearsTooShort() {
+		interpreter.interpretAll(shortYears, new int[SIZE - 1], new int[SIZE], new long[(SIZE + 63) / 64]);
+	}
+	
+	@Test(expected=NumberParseException.class)
+	public void testNonIntegers() {
+		interpreter.interpret("foobar", 2020);
+	}
+
+}
@@ -0,0 +1,137 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 David Meersteiner
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.dm.test.javafx.time;
+
+import static org.junit.Assert.*;
+import static org.hamcrest.CoreMatchers.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.dm.javafx.time.exception.NumberParseException;
+import de.dm.javafx.time.util.year.FrozenYearCutoff;
+import de.dm.javafx.time.util.year.RollingYearCutoff;
+import de.dm.javafx.time.util.year.YearCutoff;
+
+public class RollingYearCutoffTest {
+
+	private MutableClock clock;
+	private RollingYearCutoff rollingYearCutoff;
+	
+	@Before
+	public void setUp() throws Exception {
+		clock = new MutableClock(Instant.parse("2020-06-01T00:00:00Z"), ZoneOffset.UTC);
+		rollingYearCutoff = new RollingYearCutoff(clock);
+	}
+	
+	@Test
+	public void testDefaultOffset() {
+		assertThat(rollingYearCutoff.getCutoffYear(), is(2020 + YearCutoff.DEFAULT_CUTOFF_OFFSET));
+		assertThat(rollingYearCutoff.interpret("50"), is(2050));
+		assertThat(rollingYearCutoff.interpret("51"), is(1951));
+	}
+	
+	@Test
+	public void testFixedClock() {
+		RollingYearCutoff fixed = new RollingYearCutoff(
+				Clock.fixed(Instant.parse("2020-06-01T00:00:00Z"), ZoneOffset.UTC), 0);
+		assertThat(fixed.interpret("20"), is(2020));
+		assertThat(fixed.interpret("21"), is(1921));
+	}
+	
+	@Test
+	public void testRollover() {
+		FrozenYearCutoff frozen = rollingYearCutoff.freeze();
+		clock.instant = Instant.parse("2020-12-31T23:59:59.999Z");
+		assertThat(rollingYearCutoff.freeze(), is(sameInstance(frozen)));
+		assertThat(rollingYearCutoff.interpret("51"), is(1951));
+		clock.instant = Instant.parse("2021-01-01T00:00:00Z");
+		assertThat(rollingYearCutoff.getCutoffYear(), is(2051));
+		assertThat(rollingYearCutoff.interpret("51"), is(2051));
+		assertThat(rollingYearCutoff.freeze(), is(sameInstance(rollingYearCutoff.freeze())));
+	}
+	
+	@Test
+	public void testRolloverInZone() {
+		clock = new MutableClock(Instant.parse("2020-12-31T22:59:59Z"), ZoneId.of("Europe/Berlin"));
+		rollingYearCutoff = new RollingYearCutoff(clock, 0);
+		assertThat(rollingYearCutoff.getCutoffYear(), is(2020));
+		clock.instant = Instant.parse("2020-12-31T23:00:00Z");
+		assertThat(rollingYearCutoff.getCutoffYear(), is(2021));
+	}
+	
+	@Test
+	public void testAllPaths() {
+		byte[] bytes = "51".getBytes(StandardCharsets.US_ASCII);
+		int[] years = new int[2];
+		long[] errors = new long[1];
+		assertThat(rollingYearCutoff.interpret(bytes, 0, bytes.length), is(1951));
+		assertThat(rollingYearCutoff.interpretAll(new String[] { "51", "x" }, years, errors), is(1));
+		assertThat(years[0], is(1951));
+		assertThat(errors[0], is(2L));
+		clock.instant = Instant.parse("2021-01-01T00:00:00Z");
+		assertThat(rollingYearCutoff.interpret(bytes, 0, bytes.length), is(2051));
+		assertThat(rollingYearCutoff.interpretAll(new String[] { "51", "x" }, years, errors), is(1));
+		assertThat(years[0], is(2051));
+	}
+	
+	@Test(expected=NumberParseException.class)
+	public void testNonIntegers() {
+		rollingYearCutoff.interpret("foobar");
+	}
+	
+	private static class MutableClock extends Clock {
+		
+		private Instant instant;
+		private final ZoneId zone;
+		
+		private MutableClock(Instant instant, ZoneId zone) {
+			this.instant = instant;
+			this.zone = zone;
+		}
+		
+		@Override
+		public ZoneId getZone() {
+			return zone;
+		}
+		
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return new MutableClock(instant, zone);
+		}
+		
+		@Override
+		public Instant instant() {
+			return instant;
+		}
+	}
+
+}
@@ -0,0 +1,130 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 David Meersteiner
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.dm.test.javafx.time;
+
+import static org.junit.Assert.*;
+import static org.hamcrest.CoreMatchers.*;
+
+import java.util.Arrays;
+import java.util.function.ToIntFunction;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.dm.javafx.time.exception.StacklessNumberParseException;
+import de.dm.javafx.time.util.year.ShortYearStreams;
+import de.dm.javafx.time.util.year.YearCutoff;
+import de.dm.javafx.time.util.year.YearHistogram;
+
+public class ShortYearStreamsTest {
+
+	private static final int SIZE = 50_000;
+	
+	private YearCutoff yearCutoff;
+	private CharSequence[] shortYears;
+	private int failures;
+	
+	@Before
+	public void setUp() throws Exception {
+		yearCutoff = new YearCutoff(2020);
+		shortYears = new CharSequence[SIZE];
+		for (int i = 0; i < SIZE; i++) {
+			if (i % 9 == 4) {
+				shortYears[i] = "?";
+				failures++;
+			} else {
+				shortYears[i] = String.valueOf(i % 150);
+			}
+		}
+	}
+	
+	@Test
+	public void testAsIntFunction() {
+		ToIntFunction<CharSequence> function = ShortYearStreams.asIntFunction(yearCutoff);
+		assertThat(function.applyAsInt("30"), is(1930));
+		try {
+			function.applyAsInt("foobar");
+			fail();
+		} catch (StacklessNumberParseException ex) {
+			assertThat(ex.getStackTrace().length, is(0));
+		}
+	}
+	
+	@Test
+	public void testMapToYears() {
+		int[] years = ShortYearStreams.mapToYears(yearCutoff, Arrays.asList("10", "30", "foobar", "1850").stream()).toArray();
+		assertArrayEquals(new int[] { 2010, 1930, 1850 }, years);
+	}
+	
+	@Test
+	public void testParallelMapToYears() {
+		int[] sequential = ShortYearStreams.mapToYears(yearCutoff, shortYears).toArray();
+		int[] parallel = ShortYearStreams.mapToYears(yearCutoff, shortYears).parallel().toArray();
+		assertArrayEquals(sequential, parallel);
+		assertThat(sequential.length, is(SIZE - failures));
+	}
+	
+	@Test
+	public void testCounting() {
+		long sequential = Arrays.stream(shortYears).collect(ShortYearStreams.counting(yearCutoff));
+		long parallel = Arrays.stream(shortYears).parallel().collect(ShortYearStreams.counting(yearCutoff));
+		assertThat(sequential, is((long) SIZE - failures));
+		assertThat(parallel, is(sequential));
+	}
+	
+	@Test
+	public void testHistogram() {
+		YearHistogram sequential = Arrays.stream(shortYears).collect(ShortYearStreams.toHistogram(yearCutoff));
+		YearHistogram parallel = Arrays.stream(shortYears).parallel().collect(ShortYearStreams.toHistogram(yearCutoff));
+		assertThat(parallel, is(sequential));
+		assertThat(sequential.getFailures(), is((long) failures));
+		assertThat(sequential.getFirstYear(), is(100));
+		assertThat(sequential.getLastYear(), is(2020));
+		assertThat(sequential.getTotal(), is((long) SIZE - failures));
+		assertThat(sequential.getCount(1800), is(0L));
+	}
+	
+	@Test
+	public void testHistogramOutliers() {
+		YearHistogram histogram = Arrays.asList("98", "20240101", "98", "5", "999999999", "x", "20240101").stream()
+				.collect(ShortYearStreams.toHistogram(yearCutoff));
+		assertThat(histogram.getTotal(), is(6L));
+		assertThat(histogram.getFailures(), is(1L));
+		assertThat(histogram.getCount(1998), is(2L));
+		assertThat(histogram.getCount(2005), is(1L));
+		assertThat(histogram.getCount(20240101), is(2L));
+		assertThat(histogram.getCount(999999999), is(1L));
+		assertThat(histogram.getOutlierCount(), is(2));
+		assertThat(histogram.getFirstYear(), is(1998));
+		assertThat(histogram.getLastYear(), is(999999999));
+		
+		YearHistogram reversed = Arrays.asList("20240101", "999999999", "98", "x", "98", "20240101", "5").stream()
+				.collect(ShortYearStreams.toHistogram(yearCutoff));
+		assertThat(reversed, is(histogram));
+		assertThat(reversed.hashCode(), is(histogram.hashCode()));
+		assertThat(new YearHistogram().merge(histogram).merge(reversed).getCount(20240101), is(4L));
+	}
+
+}
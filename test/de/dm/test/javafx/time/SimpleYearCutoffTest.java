@@ -0,0 +1,133 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 David Meersteiner
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.dm.test.javafx.time;
+
+import static org.junit.Assert.*;
+import static org.hamcrest.CoreMatchers.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.dm.javafx.time.util.year.AbstractYearCutoff;
+import de.dm.javafx.time.util.year.SimpleYearCutoff;
+import de.dm.javafx.time.util.year.YearCutoff;
+
+public class SimpleYearCutoffTest {
+
+	private static final String PACKAGE = "de.dm.javafx.time.util.year.";
+	private static final String JAVAFX_CLASS = "javafx.beans.property.SimpleIntegerProperty";
+	
+	private URLClassLoader coreLoader;
+	
+	@Before
+	public void setUp() throws Exception {
+		coreLoader = new URLClassLoader(getClassPathWithoutJavaFX(), null);
+	}
+	
+	@After
+	public void tearDown() throws Exception {
+		coreLoader.close();
+	}
+	
+	@Test
+	public void testEqualsYearCutoff() {
+		for (int cutoffYear : new int[] { 2020, 2000, 1999, 5, -5 }) {
+			AbstractYearCutoff simple = new SimpleYearCutoff(cutoffYear);
+			AbstractYearCutoff javafx = new YearCutoff(cutoffYear);
+			for (int shortYear = 0; shortYear < 1000; shortYear++) {
+				String year = String.valueOf(shortYear);
+				assertThat(cutoffYear + " " + year, simple.interpret(year), is(javafx.interpret(year)));
+			}
+		}
+	}
+	
+	@Test
+	public void testSetCutoffYear() {
+		SimpleYearCutoff simple = new SimpleYearCutoff(2020);
+		assertThat(simple.interpret("30"), is(1930));
+		simple.setCutoffYear(2040);
+		assertThat(simple.interpret("30"), is(2030));
+		simple.setFirstInvalidYear(2031);
+		assertThat(simple.interpret("31"), is(1931));
+	}
+	
+	@Test
+	public void testWithoutJavaFX() throws Exception {
+		Class<?> simpleClass = coreLoader.loadClass(PACKAGE + "SimpleYearCutoff");
+		Object simple = simpleClass.getConstructor(int.class).newInstance(2020);
+		assertThat(simpleClass.getMethod("interpret", String.class).invoke(simple, "30"), is(1930));
+		byte[] bytes = "30".getBytes(StandardCharsets.US_ASCII);
+		assertThat(simpleClass.getMethod("interpret", byte[].class, int.class, int.class)
+				.invoke(simple, bytes, 0, bytes.length), is(1930));
+		
+		Class<?> rollingClass = coreLoader.loadClass(PACKAGE + "RollingYearCutoff");
+		Object rolling = rollingClass.getConstructor(Clock.class)
+				.newInstance(Clock.fixed(Instant.parse("2020-06-01T00:00:00Z"), ZoneOffset.UTC));
+		assertThat(rollingClass.getMethod("interpret", String.class).invoke(rolling, "51"), is(1951));
+	}
+	
+	@Test(expected=ClassNotFoundException.class)
+	public void testJavaFXNotVisible() throws Exception {
+		Class.forName(JAVAFX_CLASS, false, coreLoader);
+	}
+	
+	@Test(expected=NoClassDefFoundError.class)
+	public void testYearCutoffNeedsJavaFX() throws Throwable {
+		Class<?> javafxClass = coreLoader.loadClass(PACKAGE + "YearCutoff");
+		javafxClass.getConstructor(int.class).newInstance(2020);
+	}
+	
+	/**
+	 * @return the entries of the class path, which don't contain JavaFX
+	 */
+	static URL[] getClassPathWithoutJavaFX() throws IOException {
+		List<URL> urls = new ArrayList<>();
+		for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+			if (entry.isEmpty()) {
+				continue;
+			}
+			URL url = new File(entry).toURI().toURL();
+			try (URLClassLoader entryLoader = new URLClassLoader(new URL[] { url }, null)) {
+				if (entryLoader.findResource(JAVAFX_CLASS.replace('.', '/') + ".class") == null) {
+					urls.add(url);
+				}
+			}
+		}
+		return urls.toArray(new URL[urls.size()]);
+	}
+
+}
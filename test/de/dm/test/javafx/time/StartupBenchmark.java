@@ -0,0 +1,89 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 David Meersteiner
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.dm.test.javafx.time;
+
+import java.io.File;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+
+import de.dm.javafx.time.util.year.AbstractYearCutoff;
+import de.dm.javafx.time.util.year.SimpleYearCutoff;
+import de.dm.javafx.time.util.year.YearCutoff;
+
+/**
+ * Compares the startup time of a JVM interpreting a single short year with {@link SimpleYearCutoff},
+ * on a class path without JavaFX, and with {@link YearCutoff}, on the full class path.
+ * <p>
+ * Not a unit test, run it as a Java application. Every measurement starts a new JVM
+ * and takes the time until it exited. The first runs are warm-up runs for the file system cache.
+ */
+public class StartupBenchmark {
+	
+	private static final int WARMUP_RUNS = 3;
+	private static final int RUNS = 10;
+	
+	public static void main(String[] args) throws Exception {
+		if (args.length > 0) {
+			AbstractYearCutoff cutoff = "core".equals(args[0]) ? new SimpleYearCutoff(2020) : new YearCutoff(2020);
+			System.exit(cutoff.interpret("30") == 1930 ? 0 : 1);
+		}
+		String fullClassPath = System.getProperty("java.class.path");
+		StringBuilder coreClassPath = new StringBuilder();
+		for (URL url : SimpleYearCutoffTest.getClassPathWithoutJavaFX()) {
+			if (coreClassPath.length() > 0) {
+				coreClassPath.append(File.pathSeparator);
+			}
+			coreClassPath.append(new File(url.toURI()).getPath());
+		}
+		for (int run = 0; run < WARMUP_RUNS; run++) {
+			launch(coreClassPath.toString(), "core");
+			launch(fullClassPath, "javafx");
+		}
+		long core = 0;
+		long javafx = 0;
+		for (int run = 0; run < RUNS; run++) {
+			core += launch(coreClassPath.toString(), "core");
+			javafx += launch(fullClassPath, "javafx");
+		}
+		System.out.printf("SimpleYearCutoff without JavaFX: %6.1f ms%n", core / 1e6 / RUNS);
+		System.out.printf("YearCutoff with JavaFX:          %6.1f ms%n", javafx / 1e6 / RUNS);
+	}
+	
+	private static long launch(String classPath, String variant) throws Exception {
+		List<String> command = new ArrayList<>();
+		command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+		command.add("-cp");
+		command.add(classPath);
+		command.add(StartupBenchmark.class.getName());
+		command.add(variant);
+		long start = System.nanoTime();
+		Process process = new ProcessBuilder(command).inheritIO().start();
+		if (process.waitFor() != 0) {
+			throw new IllegalStateException(variant + " exited with " + process.exitValue());
+		}
+		return System.nanoTime() - start;
+	}
+}
@@ -0,0 +1,198 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 David Meersteiner
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.dm.test.javafx.time;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.*;
+import static org.hamcrest.CoreMatchers.*;
+
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.dm.javafx.time.util.year.FrozenYearCutoff;
+import de.dm.javafx.time.util.year.YearCutoff;
+
+/**
+ * Measures the heap allocation of the allocation-free interpretation paths.
+ */
+public class YearCutoffAllocationTest {
+	
+	private static final int WARMUP = 100_000;
+	private static final int ITERATIONS = 1_000_000;
+	
+	private com.sun.management.ThreadMXBean threadBean;
+	private YearCutoff yearCutoff;
+	
+	@Before
+	public void setUp() throws Exception {
+		java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+		threadBean = (com.sun.management.ThreadMXBean) bean;
+		assumeTrue(threadBean.isThreadAllocatedMemorySupported());
+		threadBean.setThreadAllocatedMemoryEnabled(true);
+		yearCutoff = new YearCutoff(2020);
+	}
+	
+	@Test
+	public void testRangeAllocatesNothing() {
+		CharSequence buffer = "1850; 10 ;30;0005";
+		int sum = 0;
+		for (int i = 0; i < WARMUP; i++) {
+			sum += interpretAll(buffer);
+		}
+		long threadId = Thread.currentThread().getId();
+		long before = threadBean.getThreadAllocatedBytes(threadId);
+		for (int i = 0; i < ITERATIONS; i++) {
+			sum += interpretAll(buffer);
+		}
+		long allocated = threadBean.getThreadAllocatedBytes(threadId) - before;
+		assertThat("YearCutoff.interpret(CharSequence, int, int): "
+				+ ((double) allocated / ITERATIONS / 4) + " bytes per call (checksum " + sum + ")",
+				allocated / ITERATIONS, is(0L));
+	}
+	
+	@Test
+	public void testDirectByteBufferAllocatesNothing() {
+		byte[] bytes = "1850; 10 ;30;0005".getBytes(StandardCharsets.US_ASCII);
+		ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+		buffer.put(bytes);
+		int sum = 0;
+		for (int i = 0; i < WARMUP; i++) {
+			sum += interpretAll(buffer);
+		}
+		long threadId = Thread.currentThread().getId();
+		long before = threadBean.getThreadAllocatedBytes(threadId);
+		for (int i = 0; i < ITERATIONS; i++) {
+			sum += interpretAll(buffer);
+		}
+		long allocated = threadBean.getThreadAllocatedBytes(threadId) - before;
+		assertThat("YearCutoff.interpret(ByteBuffer, int, int): "
+				+ ((double) allocated / ITERATIONS / 4) + " bytes per call (checksum " + sum + ")",
+				allocated / ITERATIONS, is(0L));
+	}
+	
+	@Test
+	public void testTryInterpretFailureAllocatesNothing() {
+		CharSequence buffer = "18x0;   ;2147483648";
+		long sum = 0;
+		for (int i = 0; i < WARMUP; i++) {
+			sum += tryInterpretAll(buffer);
+		}
+		long threadId = Thread.currentThread().getId();
+		long before = threadBean.getThreadAllocatedBytes(threadId);
+		for (int i = 0; i < ITERATIONS; i++) {
+			sum += tryInterpretAll(buffer);
+		}
+		long allocated = threadBean.getThreadAllocatedBytes(threadId) - before;
+		assertThat("YearCutoff.tryInterpret(CharSequence, int, int) failures: "
+				+ ((double) allocated / ITERATIONS / 3) + " bytes per call (checksum " + sum + ")",
+				allocated / ITERATIONS, is(0L));
+	}
+	
+	@Test
+	public void testAbbreviateAllocatesNothing() throws Exception {
+		int[] longYears = new int[1000];
+		for (int i = 0; i < longYears.length; i++) {
+			longYears[i] = 1900 + i % 150;
+		}
+		StringBuilder builder = new StringBuilder(16);
+		byte[] out = new byte[2 * longYears.length];
+		long[] errors = new long[(longYears.length + 63) / 64];
+		long sum = 0;
+		for (int i = 0; i < WARMUP / 100; i++) {
+			sum += abbreviateAll(longYears, builder, out, errors);
+		}
+		long threadId = Thread.currentThread().getId();
+		long before = threadBean.getThreadAllocatedBytes(threadId);
+		for (int i = 0; i < ITERATIONS / 1000; i++) {
+			sum += abbreviateAll(longYears, builder, out, errors);
+		}
+		long allocated = threadBean.getThreadAllocatedBytes(threadId) - before;
+		assertThat("YearCutoff.abbreviate: "
+				+ ((double) allocated / ITERATIONS / 2) + " bytes per year (checksum " + sum + ")",
+				allocated / ITERATIONS, is(0L));
+	}
+	
+	@Test
+	public void testCanonicalFootprint() {
+		int cells = 10_000;
+		Object[] grid = new Object[cells];
+		for (int i = 0; i < WARMUP; i++) {
+			grid[i % cells] = FrozenYearCutoff.of(2050);
+		}
+		long threadId = Thread.currentThread().getId();
+		long before = threadBean.getThreadAllocatedBytes(threadId);
+		for (int i = 0; i < cells; i++) {
+			grid[i] = new YearCutoff(2050);
+		}
+		long perYearCutoff = (threadBean.getThreadAllocatedBytes(threadId) - before) / cells;
+		before = threadBean.getThreadAllocatedBytes(threadId);
+		for (int i = 0; i < cells; i++) {
+			grid[i] = FrozenYearCutoff.of(2050);
+		}
+		long perCanonical = (threadBean.getThreadAllocatedBytes(threadId) - before) / cells;
+		String message = "Bytes allocated per cell: YearCutoff " + perYearCutoff + ", FrozenYearCutoff.of " + perCanonical;
+		for (Object cell : grid) {
+			assertThat(cell, is(sameInstance(grid[0])));
+		}
+		assertThat(message, perCanonical, is(0L));
+		// the instance and its short year table of 100 ints, but no property
+		assertThat(message, perYearCutoff < 512, is(true));
+	}
+	
+	private long abbreviateAll(int[] longYears, StringBuilder builder, byte[] out, long[] errors) throws Exception {
+		long sum = 0;
+		for (int longYear : longYears) {
+			builder.setLength(0);
+			sum += yearCutoff.abbreviate(longYear, builder);
+		}
+		return sum + yearCutoff.abbreviateAll(longYears, 0, longYears.length, out, 0, errors);
+	}
+	
+	private int interpretAll(CharSequence buffer) {
+		return yearCutoff.interpret(buffer, 0, 4)
+				+ yearCutoff.interpret(buffer, 5, 9)
+				+ yearCutoff.interpret(buffer, 10, 12)
+				+ yearCutoff.interpret(buffer, 13, 17);
+	}
+	
+	private int interpretAll(ByteBuffer buffer) {
+		return yearCutoff.interpret(buffer, 0, 4)
+				+ yearCutoff.interpret(buffer, 5, 4)
+				+ yearCutoff.interpret(buffer, 10, 2)
+				+ yearCutoff.interpret(buffer, 13, 4);
+	}
+	
+	private long tryInterpretAll(CharSequence buffer) {
+		return yearCutoff.tryInterpret(buffer, 0, 4)
+				+ yearCutoff.tryInterpret(buffer, 5, 8)
+				+ yearCutoff.tryInterpret(buffer, 9, 19);
+	}
+	
+}
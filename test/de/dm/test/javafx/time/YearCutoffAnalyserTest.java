@@ -0,0 +1,147 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 David Meersteiner
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.dm.test.javafx.time;
+
+import static org.junit.Assert.*;
+import static org.hamcrest.CoreMatchers.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import de.dm.javafx.time.util.year.BasicYearCutoffHandler;
+import de.dm.javafx.time.util.year.NearestYearCutoffHandler;
+import de.dm.javafx.time.util.year.YearCutoff;
+import de.dm.javafx.time.util.year.YearCutoffAnalyser;
+
+public class YearCutoffAnalyserTest {
+
+	@Test
+	public void testBirthDates() {
+		YearCutoffAnalyser analyser = new YearCutoffAnalyser(2025);
+		Random random = new Random(42);
+		for (int i = 0; i < 100_000; i++) {
+			analyser.add(String.format("%02d", (1931 + random.nextInt(90)) % 100));
+		}
+		assertThat(analyser.getCutoffOffset(), is(25));
+		assertThat(analyser.getCutoffYear(), is(2025));
+		assertThat(analyser.getConfidence(), is(1.0));
+		YearCutoff yearCutoff = analyser.toYearCutoff();
+		assertThat(yearCutoff.interpret("20"), is(2020));
+		assertThat(yearCutoff.interpret("31"), is(1931));
+		assertThat(analyser.freeze().interpret("31"), is(1931));
+	}
+	
+	@Test
+	public void testExpiryDates() {
+		YearCutoffAnalyser analyser = new YearCutoffAnalyser(2025);
+		IntStream.rangeClosed(2024, 2040).map(year -> year % 100).forEach(analyser);
+		assertThat(analyser.getCutoffYear(), is(2082));
+		assertThat(analyser.toYearCutoff().interpret("24"), is(2024));
+		assertThat(analyser.toYearCutoff().interpret("40"), is(2040));
+	}
+	
+	@Test
+	public void testAcrossCentury() {
+		YearCutoffAnalyser analyser = new YearCutoffAnalyser(2025);
+		IntStream.rangeClosed(1990, 2010).map(year -> year % 100).forEach(analyser);
+		YearCutoff yearCutoff = analyser.toYearCutoff();
+		assertThat(yearCutoff.interpret("90"), is(1990));
+		assertThat(yearCutoff.interpret("10"), is(2010));
+	}
+	
+	@Test
+	public void testHistoricalData() {
+		// by default the cutoff year is never before the reference year, which doesn't fit historical data
+		YearCutoffAnalyser future = new YearCutoffAnalyser(2025);
+		IntStream.rangeClosed(1900, 1960).map(year -> year % 100).forEach(future);
+		assertThat(future.getCutoffYear(), is(2080));
+		assertThat(future.toYearCutoff().interpret("00"), is(2000));
+		
+		YearCutoffAnalyser past = new YearCutoffAnalyser(2025, new BasicYearCutoffHandler());
+		IntStream.rangeClosed(1900, 1960).map(year -> year % 100).forEach(past);
+		assertThat(past.getCutoffOffset(), is(future.getCutoffOffset()));
+		assertThat(past.getCutoffYear(), is(1980));
+		assertThat(past.toYearCutoff().interpret("00"), is(1900));
+		assertThat(past.toYearCutoff().interpret("60"), is(1960));
+		
+		YearCutoffAnalyser nearest = new YearCutoffAnalyser(2025, new NearestYearCutoffHandler());
+		nearest.merge(past);
+		assertThat(nearest.getCutoffYear(), is(1980));
+	}
+	
+	@Test
+	public void testNoEmptyBuckets() {
+		YearCutoffAnalyser analyser = new YearCutoffAnalyser(2025);
+		for (int shortYear = 0; shortYear < 100; shortYear++) {
+			for (int i = shortYear >= 40 && shortYear < 50 ? 1 : 100; i > 0; i--) {
+				analyser.add(shortYear);
+			}
+		}
+		assertThat(analyser.getCutoffOffset(), is(44));
+		assertThat(analyser.getCutoffYear(), is(2044));
+		assertThat(analyser.getConfidence(), is(1 - 10.0 / analyser.getTotal()));
+	}
+	
+	@Test
+	public void testLowConfidence() {
+		YearCutoffAnalyser analyser = new YearCutoffAnalyser(2025);
+		for (int shortYear = 0; shortYear < 100; shortYear++) {
+			analyser.add(shortYear);
+		}
+		assertThat(analyser.getConfidence(), is(0.9));
+		assertThat(new YearCutoffAnalyser(2025).getConfidence(), is(0.0));
+		assertThat(new YearCutoffAnalyser(2025).getCutoffYear(), is(2025));
+	}
+	
+	@Test
+	public void testIgnored() {
+		YearCutoffAnalyser analyser = new YearCutoffAnalyser(2025);
+		analyser.addAll(new String[] { "98", " 5 ", "1998", "098", "foobar", null, "-5" });
+		byte[] bytes = "97".getBytes(StandardCharsets.US_ASCII);
+		analyser.add(bytes, 0, bytes.length);
+		assertThat(analyser.getTotal(), is(3L));
+		assertThat(analyser.getIgnored(), is(5L));
+		assertThat(analyser.getCount(98), is(1L));
+		assertThat(analyser.getCount(5), is(1L));
+	}
+	
+	@Test
+	public void testMerge() {
+		YearCutoffAnalyser first = new YearCutoffAnalyser(2025);
+		YearCutoffAnalyser second = new YearCutoffAnalyser(2025);
+		IntStream.rangeClosed(1990, 1999).map(year -> year % 100).forEach(first);
+		IntStream.rangeClosed(2000, 2010).map(year -> year % 100).forEach(second);
+		second.add("foobar");
+		first.merge(second);
+		assertThat(first.getTotal(), is(21L));
+		assertThat(first.getIgnored(), is(1L));
+		assertThat(first.toYearCutoff().interpret("90"), is(1990));
+		assertThat(first.toYearCutoff().interpret("10"), is(2010));
+	}
+
+}
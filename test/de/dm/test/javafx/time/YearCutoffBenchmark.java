@@ -0,0 +1,133 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 David Meersteiner
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.dm.test.javafx.time;
+
+import java.util.function.IntUnaryOperator;
+
+import de.dm.javafx.time.util.year.FrozenYearCutoff;
+import de.dm.javafx.time.util.year.ShortYearInterpreter;
+import de.dm.javafx.time.util.year.YearCutoff;
+
+/**
+ * Compares the time per interpreted short year of the generic {@link YearCutoff#interpret(String)},
+ * the range based {@link YearCutoff#interpret(CharSequence, int, int)}, its {@link FrozenYearCutoff} snapshot
+ * and its compiled table.
+ * The snapshot also reads Arabic-Indic digits, which should take as long as ASCII digits.
+ * The reverse direction compares {@link YearCutoff#abbreviate(int, char[], int)} with {@link String#format(String, Object...)}.
+ * <p>
+ * Not a unit test, run it as a Java application, with the JIT enabled.
+ * The first rounds are warm-up rounds.
+ */
+public class YearCutoffBenchmark {
+	
+	private static final int ROUNDS = 10;
+	private static final int ITERATIONS = 10_000_000;
+	
+	private static final YearCutoff YEAR_CUTOFF = new YearCutoff(2020);
+	private static final FrozenYearCutoff FROZEN = YEAR_CUTOFF.freeze();
+	private static final IntUnaryOperator COMPILED = YEAR_CUTOFF.compile();
+	
+	private static final String[] INPUTS = new String[100];
+	private static final String[] ARABIC_INDIC_INPUTS = new String[100];
+	static {
+		for (int shortYear = 0; shortYear < INPUTS.length; shortYear++) {
+			INPUTS[shortYear] = String.format("%02d", shortYear);
+			ARABIC_INDIC_INPUTS[shortYear] = new String(new char[] {
+					(char) ('\u0660' + shortYear / 10), (char) ('\u0660' + shortYear % 10) });
+		}
+	}
+	
+	public static void main(String[] args) {
+		for (int round = 1; round <= ROUNDS; round++) {
+			System.out.println("Round " + round);
+			report("YearCutoff.interpret(String)", benchmarkString(YEAR_CUTOFF, INPUTS));
+			report("YearCutoff.interpret", benchmark(YEAR_CUTOFF, INPUTS));
+			report("FrozenYearCutoff.interpret", benchmark(FROZEN, INPUTS));
+			report("  Arabic-Indic digits", benchmark(FROZEN, ARABIC_INDIC_INPUTS));
+			report("compile().applyAsInt", benchmarkCompiled());
+			report("String.format(\"%02d\")", benchmarkFormat());
+			report("abbreviate(char[])", benchmarkAbbreviate());
+		}
+	}
+	
+	private static long benchmarkString(ShortYearInterpreter interpreter, String[] inputs) {
+		long start = System.nanoTime();
+		long sum = 0;
+		for (int i = 0; i < ITERATIONS; i++) {
+			sum += interpreter.interpret(inputs[i % inputs.length]);
+		}
+		return consume(start, sum);
+	}
+	
+	private static long benchmark(ShortYearInterpreter interpreter, String[] inputs) {
+		long start = System.nanoTime();
+		long sum = 0;
+		for (int i = 0; i < ITERATIONS; i++) {
+			String input = inputs[i % inputs.length];
+			sum += interpreter.interpret(input, 0, input.length());
+		}
+		return consume(start, sum);
+	}
+	
+	private static long benchmarkCompiled() {
+		long start = System.nanoTime();
+		long sum = 0;
+		for (int i = 0; i < ITERATIONS; i++) {
+			sum += COMPILED.applyAsInt(i % INPUTS.length);
+		}
+		return consume(start, sum);
+	}
+	
+	private static long benchmarkFormat() {
+		long start = System.nanoTime();
+		long sum = 0;
+		for (int i = 0; i < ITERATIONS / 100; i++) {
+			sum += String.format("%02d", (1921 + i % 100) % 100).charAt(1);
+		}
+		return consume(start, sum) * 100;
+	}
+	
+	private static long benchmarkAbbreviate() {
+		char[] out = new char[2];
+		long start = System.nanoTime();
+		long sum = 0;
+		for (int i = 0; i < ITERATIONS; i++) {
+			sum += YEAR_CUTOFF.abbreviate(1921 + i % 100, out, 0) + out[1];
+		}
+		return consume(start, sum);
+	}
+	
+	private static long consume(long start, long sum) {
+		long time = System.nanoTime() - start;
+		if (sum == 42) {
+			System.out.println(sum);
+		}
+		return time;
+	}
+	
+	private static void report(String name, long nanos) {
+		System.out.printf("  %-28s %6.2f ns/op%n", name, (double) nanos / ITERATIONS);
+	}
+}
@@ -0,0 +1,129 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 David Meersteiner
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.dm.test.javafx.time;
+
+import static org.junit.Assert.*;
+import static org.hamcrest.CoreMatchers.*;
+
+import org.junit.Test;
+
+import de.dm.javafx.time.util.year.AbstractYearCutoff;
+import de.dm.javafx.time.util.year.AbstractYearCutoff.YearArgument;
+import de.dm.javafx.time.util.year.FutureYearCutoffHandler;
+import de.dm.javafx.time.util.year.IntYearCutoffBehaviour;
+import de.dm.javafx.time.util.year.NearestYearCutoffHandler;
+import de.dm.javafx.time.util.year.PastYearCutoffHandler;
+import de.dm.javafx.time.util.year.SimpleYearCutoff;
+import de.dm.javafx.time.util.year.YearCutoff;
+
+public class YearCutoffHandlerTest {
+
+	private static final int[] CUTOFF_YEARS = { 2020, 2025, 2000, 2099, 2050, 2049 };
+	
+	@Test
+	public void testPast() {
+		assertWindow(new PastYearCutoffHandler(), 2, 99, 0);
+	}
+	
+	@Test
+	public void testFuture() {
+		assertWindow(new FutureYearCutoffHandler(), 2, 0, 99);
+		assertWindow(new FutureYearCutoffHandler(), 1, 0, 9);
+		assertWindow(new FutureYearCutoffHandler(), 3, 0, 999);
+	}
+	
+	@Test
+	public void testNearest() {
+		assertWindow(new NearestYearCutoffHandler(), 2, 49, 50);
+		assertWindow(new NearestYearCutoffHandler(), 1, 4, 5);
+		assertWindow(new NearestYearCutoffHandler(), 3, 499, 500);
+	}
+	
+	@Test
+	public void testExamples() {
+		YearCutoff yearCutoff = new YearCutoff(2020);
+		yearCutoff.setBehaviour(new FutureYearCutoffHandler());
+		assertThat(yearCutoff.interpret("10"), is(2110));
+		assertThat(yearCutoff.interpret("20"), is(2020));
+		assertThat(yearCutoff.interpret("30"), is(2030));
+		yearCutoff.setBehaviour(new NearestYearCutoffHandler());
+		assertThat(yearCutoff.interpret("71"), is(1971));
+		assertThat(yearCutoff.interpret("70"), is(2070));
+		assertThat(yearCutoff.interpret("20"), is(2020));
+		assertThat(yearCutoff.interpret("0020"), is(20));
+	}
+	
+	@Test
+	public void testSubclassOverridesRangeMethod() {
+		YearCutoff yearCutoff = new YearCutoff(2020, 1);
+		yearCutoff.setBehaviour(new PastYearCutoffHandler() {
+			@Override
+			public int handleShortYearOnCutoff(int cutoffYear, int shortYear, int cutoffRange) {
+				return cutoffYear - cutoffRange;
+			}
+		});
+		assertThat(yearCutoff.interpret("0"), is(2010));
+		assertThat(yearCutoff.interpret("9"), is(2019));
+		assertThat(yearCutoff.interpret("1"), is(2011));
+	}
+	
+	@Test
+	public void testObjectMethodsEqualPrimitives() {
+		for (IntYearCutoffBehaviour behaviour : new IntYearCutoffBehaviour[] {
+				new PastYearCutoffHandler(), new FutureYearCutoffHandler(), new NearestYearCutoffHandler() }) {
+			for (int cutoffYear : CUTOFF_YEARS) {
+				AbstractYearCutoff cutoff = new SimpleYearCutoff(cutoffYear);
+				for (int shortYear = 0; shortYear < AbstractYearCutoff.CUTOFF_RANGE; shortYear++) {
+					int expected = behaviour.handleShortYear(cutoffYear, shortYear);
+					YearArgument argument = new YearArgument(shortYear);
+					int offset = new YearArgument(cutoffYear).getEpochOffset();
+					int actual = shortYear < offset ? behaviour.handleShortYearBeforeCutoff(cutoff, argument)
+							: shortYear > offset ? behaviour.handleShortYearAfterCutoff(cutoff, argument)
+							: behaviour.handleShortYearOnCutoff(cutoff, argument);
+					assertThat(cutoffYear + " " + shortYear, actual, is(expected));
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Asserts, that every short year is placed at the given number of years around the cutoff year.
+	 */
+	private static void assertWindow(IntYearCutoffBehaviour behaviour, int digits, int yearsBefore, int yearsAfter) {
+		for (int cutoffYear : CUTOFF_YEARS) {
+			YearCutoff yearCutoff = new YearCutoff(cutoffYear, digits);
+			yearCutoff.setBehaviour(behaviour);
+			int range = yearCutoff.getCutoffRange();
+			for (int shortYear = 0; shortYear < range; shortYear++) {
+				int year = yearCutoff.interpret(String.valueOf(shortYear));
+				String message = cutoffYear + " " + shortYear + " = " + year;
+				assertThat(message, year % range, is(shortYear));
+				assertThat(message, year >= cutoffYear - yearsBefore, is(true));
+				assertThat(message, year <= cutoffYear + yearsAfter, is(true));
+			}
+		}
+	}
+
+}
@@ -0,0 +1,157 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 David Meersteiner
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.dm.test.javafx.time;
+
+import static org.junit.Assert.*;
+import static org.hamcrest.CoreMatchers.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.dm.javafx.time.util.year.BasicYearCutoffHandler;
+import de.dm.javafx.time.util.year.FrozenYearCutoff;
+import de.dm.javafx.time.util.year.YearCutoffRegistry;
+
+public class YearCutoffRegistryTest {
+
+	private YearCutoffRegistry registry;
+	
+	@Before
+	public void setUp() throws Exception {
+		registry = new YearCutoffRegistry(FrozenYearCutoff.of(2050));
+	}
+	
+	@Test
+	public void testFallback() {
+		registry.register("acme", 2020, null);
+		registry.register("acme", "birthDate", 2010, null);
+		assertThat(registry.get("acme", "birthDate").interpret("15"), is(1915));
+		assertThat(registry.get("acme", "orderDate").interpret("15"), is(2015));
+		assertThat(registry.get("acme").interpret("15"), is(2015));
+		assertThat(registry.get("other", "orderDate").interpret("60"), is(1960));
+		assertThat(registry.get("other"), is(sameInstance(registry.getDefaultPolicy())));
+	}
+	
+	@Test
+	public void testSharedPolicies() {
+		FrozenYearCutoff first = registry.register("first", 2030, null);
+		FrozenYearCutoff second = registry.register("second", "field", 2030, null);
+		assertThat(second, is(sameInstance(first)));
+	}
+	
+	@Test
+	public void testShortYearDigits() {
+		registry.register("acme", 2050, null, 3);
+		registry.register("acme", "birthDate", 2010, null, 1);
+		assertThat(registry.get("acme", "orderDate").getShortYearDigits(), is(3));
+		assertThat(registry.get("acme", "orderDate").interpret("960"), is(1960));
+		assertThat(registry.get("acme", "birthDate").interpret("5"), is(2005));
+		assertThat(registry.get("acme", "birthDate").interpret("15"), is(15));
+		assertThat(registry.register("other", 2050, null), is(sameInstance(registry.getDefaultPolicy())));
+	}
+	
+	@Test
+	public void testRemove() {
+		registry.register("acme", 2020, null);
+		registry.register("acme", "birthDate", 2010, null);
+		registry.remove("acme", "birthDate");
+		assertThat(registry.get("acme", "birthDate").getCutoffYear(), is(2020));
+		registry.remove("acme");
+		assertThat(registry.get("acme", "birthDate").getCutoffYear(), is(2050));
+		assertThat(registry.getPolicies("acme").isEmpty(), is(true));
+	}
+	
+	@Test
+	public void testReplace() {
+		registry.register("acme", "orderDate", 2010, null);
+		Map<String, FrozenYearCutoff> policies = new HashMap<>();
+		policies.put(null, FrozenYearCutoff.of(2030));
+		policies.put("birthDate", FrozenYearCutoff.of(2000));
+		registry.replace("acme", policies);
+		assertThat(registry.get("acme", "orderDate").getCutoffYear(), is(2030));
+		assertThat(registry.get("acme", "birthDate").getCutoffYear(), is(2000));
+		assertThat(registry.getPolicies("acme"), is(policies));
+	}
+	
+	@Test(expected=UnsupportedOperationException.class)
+	public void testPoliciesImmutable() {
+		registry.register("acme", 2020, null);
+		registry.getPolicies("acme").clear();
+	}
+	
+	@Test
+	public void testConcurrentUpdates() throws InterruptedException {
+		BasicYearCutoffHandler behaviour = new BasicYearCutoffHandler();
+		Map<String, FrozenYearCutoff> early = new HashMap<>();
+		early.put("from", FrozenYearCutoff.of(2020, behaviour));
+		early.put("to", FrozenYearCutoff.of(2020, behaviour));
+		Map<String, FrozenYearCutoff> late = new HashMap<>();
+		late.put("from", FrozenYearCutoff.of(2040));
+		late.put("to", FrozenYearCutoff.of(2040));
+		registry.replace("acme", early);
+		
+		AtomicBoolean running = new AtomicBoolean(true);
+		AtomicInteger inconsistent = new AtomicInteger();
+		Thread[] readers = new Thread[4];
+		for (int i = 0; i < readers.length; i++) {
+			readers[i] = new Thread(() -> {
+				while (running.get()) {
+					Map<String, FrozenYearCutoff> policies = registry.getPolicies("acme");
+					if (policies.get("from") != policies.get("to")) {
+						inconsistent.incrementAndGet();
+					}
+				}
+			});
+			readers[i].start();
+		}
+		Thread[] writers = new Thread[2];
+		for (int i = 0; i < writers.length; i++) {
+			writers[i] = new Thread(() -> {
+				for (int j = 0; j < 1_000; j++) {
+					registry.replace("acme", j % 2 == 0 ? late : early);
+					registry.register("tenant" + j, 2000 + j % 100, null);
+				}
+			});
+			writers[i].start();
+		}
+		for (Thread writer : writers) {
+			writer.join();
+		}
+		running.set(false);
+		for (Thread reader : readers) {
+			reader.join();
+		}
+		assertThat(inconsistent.get(), is(0));
+		for (int j = 0; j < 1_000; j++) {
+			assertThat(registry.get("tenant" + j).getCutoffYear(), is(2000 + j % 100));
+		}
+	}
+
+}
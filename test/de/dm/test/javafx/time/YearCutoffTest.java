@@ -27,15 +27,37 @@ package de.dm.test.javafx.time;
 import static org.junit.Assert.*;
 import static org.hamcrest.CoreMatchers.*;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.IntUnaryOperator;
+
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
 import de.dm.javafx.time.exception.NumberParseException;
+import de.dm.javafx.time.exception.StacklessNumberParseException;
+import de.dm.javafx.time.util.year.AbstractYearCutoff;
+import de.dm.javafx.time.util.year.AbstractYearCutoff.YearArgument;
+import de.dm.javafx.time.util.year.BasicYearCutoffHandler;
+import de.dm.javafx.time.util.year.FutureYearCutoffHandler;
+import de.dm.javafx.time.util.year.FrozenYearCutoff;
+import de.dm.javafx.time.util.year.IntYearCutoffBehaviour;
+import de.dm.javafx.time.util.year.ReferenceYearInterpreter;
+import de.dm.javafx.time.util.year.ShortYearInterpreter;
+import de.dm.javafx.time.util.year.SimpleYearCutoff;
 import de.dm.javafx.time.util.year.YearCutoff;
+import de.dm.javafx.time.util.year.YearCutoffBehaviour;
+import de.dm.javafx.time.util.year.YearParseResult;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.SimpleIntegerProperty;
 
 public class YearCutoffTest {
 
+	private static final String[] SAMPLE_YEARS = {
+			"10", "20", "30", "0", "1850", "0005", "005", "05", "5", " 10 ", "+5", "+05", "-5", "-2147483648" };
+
 	private YearCutoff yearCutoff;
 	
 	@Before
@@ -142,5 +164,611 @@ public class YearCutoffTest {
 	public void testNonIntegers() {
 		yearCutoff.interpret("foobar");
 	}
+	
+	@Test
+	public void testTrimmed() {
+		yearCutoff.setCutoffYear(2020);
+		int value = yearCutoff.interpret(" 10 ");
+		assertThat(value, is(2010));
+	}
+	
+	@Test
+	public void testRangeEqualsString() {
+		yearCutoff.setCutoffYear(2020);
+		for (String year : SAMPLE_YEARS) {
+			String buffer = "x;" + year + ";x";
+			int value = yearCutoff.interpret(buffer, 2, 2 + year.length());
+			assertThat(year, value, is(yearCutoff.interpret(year)));
+		}
+	}
+	
+	@Test(expected=NumberParseException.class)
+	public void testRangeNonIntegers() {
+		yearCutoff.interpret("10foobar10", 2, 8);
+	}
+	
+	@Test(expected=NumberParseException.class)
+	public void testRangeOverflow() {
+		yearCutoff.interpret("2147483648", 0, 10);
+	}
+	
+	@Test
+	public void testBytesEqualsString() {
+		yearCutoff.setCutoffYear(2020);
+		for (String year : SAMPLE_YEARS) {
+			byte[] buffer = ("x;" + year + ";x").getBytes(StandardCharsets.US_ASCII);
+			int value = yearCutoff.interpret(buffer, 2, year.length());
+			assertThat(year, value, is(yearCutoff.interpret(year)));
+		}
+	}
+	
+	@Test
+	public void testByteBufferEqualsString() {
+		yearCutoff.setCutoffYear(2020);
+		for (String year : SAMPLE_YEARS) {
+			byte[] bytes = ("x;" + year + ";x").getBytes(StandardCharsets.US_ASCII);
+			ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+			direct.put(bytes);
+			ByteBuffer slice = ByteBuffer.wrap(bytes, 1, bytes.length - 1).slice();
+			int expected = yearCutoff.interpret(year);
+			assertThat(year, yearCutoff.interpret(ByteBuffer.wrap(bytes), 2, year.length()), is(expected));
+			assertThat(year, yearCutoff.interpret(direct, 2, year.length()), is(expected));
+			assertThat(year, yearCutoff.interpret(slice, 1, year.length()), is(expected));
+			assertThat(direct.position(), is(bytes.length));
+		}
+	}
+	
+	@Test(expected=NumberParseException.class)
+	public void testBytesNonIntegers() {
+		yearCutoff.interpret("10foobar10".getBytes(StandardCharsets.US_ASCII), 2, 6);
+	}
+	
+	@Test(expected=NumberParseException.class)
+	public void testByteBufferNonIntegers() {
+		yearCutoff.interpret(ByteBuffer.allocateDirect(4).put((byte) '1').put((byte) 'x'), 0, 2);
+	}
+	
+	@Test
+	public void testBytesOutOfRange() {
+		byte[] bytes = "1998".getBytes(StandardCharsets.US_ASCII);
+		int[][] ranges = { { 2, -1 }, { -1, 2 }, { 2, 3 } };
+		for (int[] range : ranges) {
+			try {
+				yearCutoff.tryInterpret(bytes, range[0], range[1]);
+				fail(range[0] + ", " + range[1]);
+			} catch (IndexOutOfBoundsException ex) {
+				assertThat(ex.getClass().getName(), ex.getMessage(), is("offset " + range[0] + ", length " + range[1] + ", limit 4"));
+			}
+		}
+	}
+	
+	@Test
+	public void testTryInterpretOk() {
+		yearCutoff.setCutoffYear(2020);
+		long result = yearCutoff.tryInterpret(" 30 ");
+		assertThat(YearParseResult.getStatus(result), is(YearParseResult.OK));
+		assertThat(YearParseResult.getYear(result), is(1930));
+		assertThat(YearParseResult.getYearOrThrow(yearCutoff.tryInterpret("0005")), is(5));
+	}
+	
+	@Test
+	public void testTryInterpretEmpty() {
+		assertThat(YearParseResult.getStatus(yearCutoff.tryInterpret("")), is(YearParseResult.EMPTY));
+		assertThat(YearParseResult.getStatus(yearCutoff.tryInterpret(" \t ")), is(YearParseResult.EMPTY));
+	}
+	
+	@Test
+	public void testTryInterpretNonDigit() {
+		long result = yearCutoff.tryInterpret("x;1y;x", 2, 4);
+		assertThat(YearParseResult.getStatus(result), is(YearParseResult.NON_DIGIT));
+		assertThat(YearParseResult.getPosition(result), is(3));
+		result = yearCutoff.tryInterpret(ByteBuffer.wrap("x;1y;x".getBytes(StandardCharsets.US_ASCII), 1, 5).slice(), 1, 2);
+		assertThat(YearParseResult.getStatus(result), is(YearParseResult.NON_DIGIT));
+		assertThat(YearParseResult.getPosition(result), is(2));
+	}
+	
+	@Test
+	public void testTryInterpretOverflow() {
+		long result = yearCutoff.tryInterpret("2147483648".getBytes(StandardCharsets.US_ASCII), 0, 10);
+		assertThat(YearParseResult.getStatus(result), is(YearParseResult.OVERFLOW));
+	}
+	
+	@Test
+	public void testUnicodeDigits() {
+		yearCutoff.setCutoffYear(2020);
+		assertThat(yearCutoff.interpret("\u0669\u0668"), is(1998));              // Arabic-Indic
+		assertThat(yearCutoff.interpret("\u06F0\u06F5"), is(2005));              // Extended Arabic-Indic
+		assertThat(yearCutoff.interpret("\u0967\u0966"), is(2010));              // Devanagari
+		assertThat(yearCutoff.interpret("\uFF13\uFF10"), is(1930));              // full-width
+		assertThat(yearCutoff.interpret(" \uFF10\uFF10\uFF10\uFF15 "), is(5));
+		assertThat(yearCutoff.interpret("-\u0665"), is(-5));
+		assertThat(yearCutoff.interpret("1\u0669\uFF18"), is(198));
+		assertThat(yearCutoff.interpret("x\u0669\u0668x", 1, 3), is(1998));
+		assertThat(yearCutoff.freeze().interpret("\u0669\u0668"), is(1998));
+	}
+	
+	@Test
+	public void testSupplementaryDigitsCountOnce() {
+		yearCutoff.setCutoffYear(2020);
+		// MATHEMATICAL BOLD DIGIT NINE and EIGHT, two chars each
+		String year = new StringBuilder().appendCodePoint(0x1D7D7).appendCodePoint(0x1D7D6).toString();
+		assertThat(year.length(), is(4));
+		assertThat(yearCutoff.interpret(year), is(1998));
+		assertThat(YearParseResult.getYear(yearCutoff.tryInterpret(year)), is(1998));
+		byte[] bytes = year.getBytes(StandardCharsets.UTF_8);
+		assertThat(yearCutoff.interpret(bytes, 0, bytes.length), is(1998));
+		// a lone surrogate is no digit
+		long result = yearCutoff.tryInterpret("1\uD835");
+		assertThat(YearParseResult.getStatus(result), is(YearParseResult.NON_DIGIT));
+		assertThat(YearParseResult.getPosition(result), is(1));
+	}
+	
+	@Test
+	public void testUnicodeDigitsUtf8() {
+		yearCutoff.setCutoffYear(2020);
+		for (String year : new String[] { "\u0669\u0668", " \uFF13\uFF10 ", "\u0967\u0966", "\uFF10\uFF10\uFF10\uFF15" }) {
+			byte[] bytes = ("x;" + year + ";x").getBytes(StandardCharsets.UTF_8);
+			int length = bytes.length - 4;
+			ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+			direct.put(bytes);
+			int expected = yearCutoff.interpret(year);
+			assertThat(year, yearCutoff.interpret(bytes, 2, length), is(expected));
+			assertThat(year, yearCutoff.interpret(ByteBuffer.wrap(bytes), 2, length), is(expected));
+			assertThat(year, yearCutoff.interpret(direct, 2, length), is(expected));
+		}
+	}
+	
+	@Test
+	public void testMalformedUtf8() {
+		byte[][] malformed = {
+				{ '1', (byte) 0xD9 },                           // truncated
+				{ '1', (byte) 0xD9, '9' },                      // missing continuation
+				{ '1', (byte) 0xC0, (byte) 0xB0 },              // overlong '0'
+				{ '1', (byte) 0xE0, (byte) 0x80, (byte) 0xB0 }, // overlong '0'
+				{ '1', (byte) 0xF4, (byte) 0x90, (byte) 0x80, (byte) 0x80 }, // beyond U+10FFFF
+				{ '1', (byte) 0xA9 } };                         // stray continuation
+		for (byte[] bytes : malformed) {
+			ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+			direct.put(bytes);
+			for (long result : new long[] {
+					yearCutoff.tryInterpret(bytes, 0, bytes.length), yearCutoff.tryInterpret(direct, 0, bytes.length) }) {
+				assertThat(Arrays.toString(bytes), YearParseResult.getStatus(result), is(YearParseResult.NON_DIGIT));
+				assertThat(Arrays.toString(bytes), YearParseResult.getPosition(result), is(1));
+			}
+		}
+	}
+	
+	@Test
+	public void testOnlyDecimalDigitsAccepted() {
+		StringBuilder year = new StringBuilder();
+		// whitespace would be trimmed
+		for (int codePoint = ' ' + 1; codePoint <= Character.MAX_CODE_POINT; codePoint++) {
+			year.setLength(0);
+			year.append("100").appendCodePoint(codePoint);
+			long result = yearCutoff.tryInterpret(year);
+			String hex = Integer.toHexString(codePoint);
+			if (YearParseResult.isOk(result)) {
+				// digits added after the Unicode version of the JDK are still undefined there
+				if (Character.isDefined(codePoint)) {
+					assertThat(hex, Character.getType(codePoint), is((int) Character.DECIMAL_DIGIT_NUMBER));
+					assertThat(hex, YearParseResult.getYear(result), is(1000 + Character.digit(codePoint, 10)));
+				}
+			} else {
+				assertThat(hex, Character.getType(codePoint), not((int) Character.DECIMAL_DIGIT_NUMBER));
+			}
+		}
+	}
+	
+	@Test
+	public void testStacklessException() {
+		try {
+			YearParseResult.getYearOrThrow(yearCutoff.tryInterpret("foobar"));
+			fail();
+		} catch (StacklessNumberParseException ex) {
+			assertThat(ex.getStackTrace().length, is(0));
+			assertThat(ex.getMessage(), is("NON_DIGIT at position 0"));
+		}
+	}
+	
+	@Test
+	public void testInterpretAll() {
+		yearCutoff.setCutoffYear(2020);
+		CharSequence[] shortYears = new CharSequence[130];
+		for (int i = 0; i < shortYears.length; i++) {
+			shortYears[i] = i % 7 == 3 ? "x" + i : String.valueOf(i % 100);
+		}
+		shortYears[129] = null;
+		ShortYearInterpreter plain = yearCutoff::interpret;
+		assertBatch(shortYears, yearCutoff, false);
+		assertBatch(shortYears, yearCutoff, true);
+		assertBatch(shortYears, plain, false);
+		assertBatch(shortYears, plain, true);
+	}
+	
+	private void assertBatch(CharSequence[] shortYears, ShortYearInterpreter interpreter, boolean asList) {
+		int[] years = new int[shortYears.length];
+		long[] errors = { -1L, -1L, -1L };
+		int failures = asList ? interpreter.interpretAll(Arrays.asList(shortYears), years, errors)
+				: interpreter.interpretAll(shortYears, years, errors);
+		int expectedFailures = 0;
+		for (int i = 0; i < shortYears.length; i++) {
+			boolean failed = (errors[i / 64] & 1L << i) != 0;
+			if (shortYears[i] == null || shortYears[i].charAt(0) == 'x') {
+				expectedFailures++;
+				assertThat(failed, is(true));
+				assertThat(years[i], is(0));
+			} else {
+				assertThat(failed, is(false));
+				assertThat(years[i], is(yearCutoff.interpret(shortYears[i].toString())));
+			}
+		}
+		assertThat(failures, is(expectedFailures));
+		assertThat(errors[2] >>> 2, is(-1L >>> 2));
+	}
+	
+	@Test
+	public void testBehaviourChange() {
+		yearCutoff.setCutoffYear(2020);
+		yearCutoff.setBehaviour(new BasicYearCutoffHandler() {
+			@Override
+			public int handleShortYearAfterCutoff(AbstractYearCutoff cutoff, YearArgument shortYear) {
+				return -1;
+			}
+		});
+		assertThat(yearCutoff.interpret("30"), is(-1));
+		assertThat(yearCutoff.interpret("10"), is(2010));
+		yearCutoff.setBehaviour(null);
+		assertThat(yearCutoff.interpret("30"), is(1930));
+	}
+	
+	@Test
+	public void testYearCutoffBehaviour() {
+		YearCutoffBehaviour behaviour = new YearCutoffBehaviour() {
+			@Override
+			public int handleShortYearBeforeCutoff(YearCutoff cutoff, YearArgument shortYear) {
+				return cutoff.getCutoffYear() + shortYear.getYearAsInt();
+			}
+			@Override
+			public int handleShortYearAfterCutoff(YearCutoff cutoff, YearArgument shortYear) {
+				return cutoff.getCutoffYear() - shortYear.getYearAsInt();
+			}
+			@Override
+			public int handleShortYearOnCutoff(YearCutoff cutoff, YearArgument shortYear) {
+				return 0;
+			}
+		};
+		yearCutoff.setCutoffYear(2020);
+		yearCutoff.setBehaviour(behaviour);
+		assertThat(yearCutoff.interpret("10"), is(2030));
+		assertThat(yearCutoff.interpret("30"), is(1990));
+		assertThat(yearCutoff.interpret("20"), is(0));
+		SimpleYearCutoff simple = new SimpleYearCutoff(2020);
+		simple.setBehaviour(behaviour);
+		assertThat(simple.interpret("10"), is(2030));
+		assertThat(simple.interpret("30"), is(1990));
+	}
+	
+	@Test
+	public void testBehaviourChangeYearCutoffMethod() {
+		yearCutoff.setCutoffYear(2020);
+		yearCutoff.setBehaviour(new BasicYearCutoffHandler() {
+			@Override
+			public int handleShortYearAfterCutoff(YearCutoff cutoff, YearArgument shortYear) {
+				return -1;
+			}
+		});
+		assertThat(yearCutoff.interpret("30"), is(-1));
+		assertThat(yearCutoff.interpret("10"), is(2010));
+	}
+	
+	@Test
+	public void testBehaviourOverridesEqualInEveryInterpreter() {
+		BasicYearCutoffHandler yearCutoffMethod = new BasicYearCutoffHandler() {
+			@Override
+			public int handleShortYearAfterCutoff(YearCutoff cutoff, YearArgument shortYear) {
+				return -7;
+			}
+		};
+		BasicYearCutoffHandler abstractYearCutoffMethod = new BasicYearCutoffHandler() {
+			@Override
+			public int handleShortYearAfterCutoff(AbstractYearCutoff cutoff, YearArgument shortYear) {
+				return -7;
+			}
+		};
+		for (BasicYearCutoffHandler behaviour : new BasicYearCutoffHandler[] { yearCutoffMethod, abstractYearCutoffMethod }) {
+			YearCutoff cutoff = new YearCutoff(2020);
+			cutoff.setBehaviour(behaviour);
+			SimpleYearCutoff simple = new SimpleYearCutoff(2020);
+			simple.setBehaviour(behaviour);
+			ShortYearInterpreter[] interpreters = { cutoff, simple, cutoff.freeze(), simple.freeze(), FrozenYearCutoff.of(2020, behaviour) };
+			ReferenceYearInterpreter reference = new ReferenceYearInterpreter(behaviour, 0);
+			for (String year : new String[] { "30", "10", "20" }) {
+				int expected = year.equals("30") ? -7 : Integer.parseInt(year) + 2000;
+				for (ShortYearInterpreter interpreter : interpreters) {
+					assertThat(year + " " + interpreter, interpreter.interpret(year), is(expected));
+				}
+				assertThat(year, reference.interpret(year, 2020), is(expected));
+			}
+		}
+	}
+	
+	@Test
+	public void testEmptyBehaviourRejected() {
+		YearCutoffBehaviour empty = new YearCutoffBehaviour() {
+		};
+		YearCutoffBehaviour partial = new YearCutoffBehaviour() {
+			@Override
+			public int handleShortYearBeforeCutoff(YearCutoff cutoff, YearArgument shortYear) {
+				return 0;
+			}
+			@Override
+			public int handleShortYearAfterCutoff(AbstractYearCutoff cutoff, YearArgument shortYear) {
+				return 0;
+			}
+		};
+		for (YearCutoffBehaviour behaviour : new YearCutoffBehaviour[] { empty, partial }) {
+			try {
+				new SimpleYearCutoff(2020).setBehaviour(behaviour);
+				fail();
+			} catch (IllegalArgumentException ex) {
+				assertThat(ex.getMessage(), containsString("implements neither"));
+			}
+			try {
+				yearCutoff.setBehaviour(behaviour);
+				fail();
+			} catch (IllegalArgumentException ex) {
+				assertThat(ex.getMessage(), containsString("implements neither"));
+			}
+			try {
+				FrozenYearCutoff.of(2020, behaviour);
+				fail();
+			} catch (IllegalArgumentException ex) {
+				assertThat(ex.getMessage(), containsString("implements neither"));
+			}
+			try {
+				behaviour.handleShortYearOnCutoff(yearCutoff, new YearArgument(5));
+				fail();
+			} catch (UnsupportedOperationException ex) {
+				assertThat(ex.getMessage(), containsString("implements neither"));
+			}
+		}
+		// the rejected behaviour isn't set
+		assertThat(yearCutoff.getBehaviour(), is(instanceOf(BasicYearCutoffHandler.class)));
+		assertThat(new SimpleYearCutoff(2020, 2).interpret("30"), is(1930));
+	}
+	
+	@Test
+	public void testBehaviourSeesCutoffRange() {
+		for (int digits = AbstractYearCutoff.MIN_CONFIGURABLE_SHORTYEAR_DIGITS;
+				digits <= AbstractYearCutoff.MAX_CONFIGURABLE_SHORTYEAR_DIGITS; digits++) {
+			YearCutoff cutoff = new YearCutoff(2025, digits) {
+				@Override
+				protected int handleShortYear(YearArgument shortYear) {
+					assertThat(shortYear.getCutoffRange(), is(getCutoffRange()));
+					return shortYear.getEpochOffset();
+				}
+			};
+			cutoff.setBehaviour(new BasicYearCutoffHandler() {
+				@Override
+				public int handleShortYearOnCutoff(AbstractYearCutoff cutoff, YearArgument shortYear) {
+					return shortYear.getCutoffRange();
+				}
+			});
+			assertThat(cutoff.interpret("7"), is(7));
+			assertThat(cutoff.compile().applyAsInt(2025 % cutoff.getCutoffRange()), is(cutoff.getCutoffRange()));
+		}
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testYearArgumentDigitsOutOfRange() {
+		new YearArgument(5, 4);
+	}
+	
+	@Test
+	public void testCompile() {
+		yearCutoff.setCutoffYear(2020);
+		IntUnaryOperator compiled = yearCutoff.compile();
+		for (int shortYear = 0; shortYear < YearCutoff.CUTOFF_RANGE; shortYear++) {
+			assertThat(compiled.applyAsInt(shortYear), is(yearCutoff.interpret(String.valueOf(shortYear))));
+		}
+		assertThat(compiled.applyAsInt(1850), is(1850));
+		assertThat(compiled.applyAsInt(-5), is(-5));
+		yearCutoff.setCutoffYear(2040);
+		assertThat(compiled.applyAsInt(30), is(1930));
+	}
+	
+	@Test
+	public void testIntBehaviour() {
+		yearCutoff.setCutoffYear(2020);
+		yearCutoff.setBehaviour(new IntYearCutoffBehaviour() {
+			@Override
+			public int handleShortYearBeforeCutoff(int cutoffYear, int shortYear, int cutoffRange) {
+				return cutoffYear + shortYear;
+			}
+			@Override
+			public int handleShortYearAfterCutoff(int cutoffYear, int shortYear, int cutoffRange) {
+				return cutoffYear - shortYear;
+			}
+			@Override
+			public int handleShortYearOnCutoff(int cutoffYear, int shortYear, int cutoffRange) {
+				return 0;
+			}
+		});
+		assertThat(yearCutoff.interpret("10"), is(2030));
+		assertThat(yearCutoff.interpret("20"), is(0));
+		assertThat(yearCutoff.compile().applyAsInt(30), is(1990));
+	}
+	
+	@Test
+	public void testAbbreviate() throws Exception {
+		yearCutoff.setCutoffYear(2020);
+		assertThat(yearCutoff.abbreviate(1998), is(98));
+		assertThat(yearCutoff.abbreviate(2005), is(5));
+		assertThat(yearCutoff.abbreviate(1921), is(21));
+		assertThat(yearCutoff.abbreviate(2020), is(20));
+		assertThat(yearCutoff.abbreviate(1920), is(-1));
+		assertThat(yearCutoff.abbreviate(2021), is(-1));
+		assertThat(yearCutoff.abbreviate(5), is(-1));
+		assertThat(yearCutoff.abbreviate(-1995), is(-1));
+		StringBuilder builder = new StringBuilder("x");
+		assertThat(yearCutoff.abbreviate(2005, builder), is(2));
+		assertThat(yearCutoff.abbreviate(1920, builder), is(-1));
+		assertThat(builder.toString(), is("x05"));
+		char[] chars = "....".toCharArray();
+		assertThat(yearCutoff.abbreviate(1998, chars, 1), is(2));
+		assertThat(yearCutoff.abbreviate(2021, chars, 2), is(-1));
+		assertThat(new String(chars), is(".98."));
+		byte[] bytes = "....".getBytes(StandardCharsets.US_ASCII);
+		assertThat(yearCutoff.abbreviate(2007, bytes, 2), is(2));
+		assertThat(new String(bytes, StandardCharsets.US_ASCII), is("..07"));
+	}
+	
+	@Test(expected=IndexOutOfBoundsException.class)
+	public void testAbbreviateOutOfBounds() {
+		yearCutoff.abbreviate(2005, new char[3], 2);
+	}
+	
+	@Test
+	public void testAbbreviateRoundTrip() throws Exception {
+		YearCutoff[] cutoffs = { new YearCutoff(2020), new YearCutoff(2025, 1), new YearCutoff(2020, 3), new YearCutoff(2020) };
+		cutoffs[3].setBehaviour(new FutureYearCutoffHandler());
+		StringBuilder builder = new StringBuilder();
+		char[] chars = new char[3];
+		byte[] bytes = new byte[3];
+		for (YearCutoff cutoff : cutoffs) {
+			int abbreviated = 0;
+			for (int year = -100; year < 4000; year++) {
+				builder.setLength(0);
+				int length = cutoff.abbreviate(year, builder);
+				if (length < 0) {
+					assertThat(builder.length(), is(0));
+					continue;
+				}
+				abbreviated++;
+				assertThat(length, is(cutoff.getShortYearDigits()));
+				assertThat(builder.length(), is(length));
+				assertThat(builder.toString(), cutoff.interpret(builder.toString()), is(year));
+				// all overloads write the same digits
+				assertThat(cutoff.abbreviate(year, chars, 0), is(length));
+				assertThat(new String(chars, 0, length), is(builder.toString()));
+				assertThat(cutoff.abbreviate(year, bytes, 0), is(length));
+				assertThat(new String(bytes, 0, length, StandardCharsets.US_ASCII), is(builder.toString()));
+				assertThat(cutoff.freeze().abbreviate(year), is(cutoff.abbreviate(year)));
+			}
+			// every short year stands for exactly one long year
+			assertThat(abbreviated, is(cutoff.getCutoffRange()));
+		}
+	}
+	
+	@Test
+	public void testAbbreviateAll() {
+		yearCutoff.setCutoffYear(2020);
+		int[] longYears = new int[130];
+		for (int i = 0; i < longYears.length; i++) {
+			longYears[i] = 1900 + i;
+		}
+		int[] shortYears = new int[longYears.length];
+		long[] errors = new long[3];
+		assertThat(yearCutoff.abbreviateAll(longYears, shortYears, errors), is(30));
+		for (int i = 0; i < longYears.length; i++) {
+			boolean valid = longYears[i] > 1920 && longYears[i] <= 2020;
+			assertThat((errors[i / 64] & 1L << i) == 0, is(valid));
+			assertThat(shortYears[i], is(valid ? longYears[i] % 100 : 0));
+		}
+		byte[] out = new byte[12];
+		Arrays.fill(out, (byte) '?');
+		errors = new long[] { -1L, -1L, -1L };
+		assertThat(yearCutoff.freeze().abbreviateAll(longYears, 119, 124, out, 1, errors), is(3));
+		// 2019 and 2020 are written, the fields of 2021 to 2023 are left alone
+		assertThat(new String(out, StandardCharsets.US_ASCII), is("?1920???????"));
+		assertThat(errors[1], is(~(0b11L << 55)));
+		assertThat(errors[0], is(-1L));
+	}
+	
+	@Test
+	public void testBoundCutoffYear() {
+		IntegerProperty source = new SimpleIntegerProperty(2020);
+		yearCutoff.cutoffYearProperty().bind(source);
+		assertThat(yearCutoff.interpret("30"), is(1930));
+		source.set(2040);
+		assertThat(yearCutoff.interpret("30"), is(2030));
+	}
+	
+	@Test
+	public void testLazyCutoffYearProperty() {
+		YearCutoff lazy = new YearCutoff(2020);
+		lazy.setCutoffYear(2040);
+		assertThat(lazy.getCutoffYear(), is(2040));
+		assertThat(lazy.interpret("30"), is(2030));
+		IntegerProperty property = lazy.cutoffYearProperty();
+		assertThat(property.get(), is(2040));
+		assertThat(lazy.cutoffYearProperty(), is(sameInstance(property)));
+		property.set(2020);
+		assertThat(lazy.getCutoffYear(), is(2020));
+		assertThat(lazy.interpret("30"), is(1930));
+		lazy.setCutoffYear(2040);
+		assertThat(property.get(), is(2040));
+		assertThat(lazy.interpret("30"), is(2030));
+	}
+	
+	@Test
+	public void testOneDigitShortYears() {
+		YearCutoff decade = new YearCutoff(2025, 1);
+		assertThat(decade.getCutoffRange(), is(10));
+		assertThat(decade.interpret("3"), is(2023));
+		assertThat(decade.interpret("5"), is(2025));
+		assertThat(decade.interpret("7"), is(2017));
+		assertThat(decade.interpret("07"), is(7));
+		assertThat(decade.interpret("10"), is(10));
+		decade.setFirstValidYear(2030);
+		assertThat(decade.interpret("9"), is(2039));
+	}
+	
+	@Test
+	public void testThreeDigitShortYears() {
+		YearCutoff millennium = new YearCutoff(2025, 3);
+		assertThat(millennium.getCutoffRange(), is(1000));
+		assertThat(millennium.interpret("998"), is(1998));
+		assertThat(millennium.interpret("20"), is(2020));
+		assertThat(millennium.interpret("025"), is(2025));
+		assertThat(millennium.interpret("0998"), is(998));
+		assertThat(millennium.interpret("1998"), is(1998));
+	}
+	
+	@Test
+	public void testShortYearDigitsPaths() {
+		for (int digits = YearCutoff.MIN_CONFIGURABLE_SHORTYEAR_DIGITS;
+				digits <= YearCutoff.MAX_CONFIGURABLE_SHORTYEAR_DIGITS; digits++) {
+			YearCutoff cutoff = new YearCutoff(2025, digits);
+			IntUnaryOperator compiled = cutoff.compile();
+			String[] inputs = new String[1100];
+			for (int i = 0; i < inputs.length; i++) {
+				inputs[i] = i % 2 == 0 ? String.valueOf(i / 2) : String.format("%03d", i / 2);
+			}
+			int[] years = new int[inputs.length];
+			long[] errors = new long[(inputs.length + 63) / 64];
+			assertThat(cutoff.interpretAll(inputs, years, errors), is(0));
+			for (int i = 0; i < inputs.length; i++) {
+				int expected = cutoff.interpret(inputs[i]);
+				byte[] bytes = inputs[i].getBytes(StandardCharsets.US_ASCII);
+				assertThat(inputs[i], years[i], is(expected));
+				assertThat(inputs[i], cutoff.interpret(bytes, 0, bytes.length), is(expected));
+				assertThat(inputs[i], cutoff.freeze().interpret(inputs[i]), is(expected));
+				if (inputs[i].length() <= digits) {
+					assertThat(inputs[i], compiled.applyAsInt(i / 2), is(expected));
+				}
+			}
+		}
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testShortYearDigitsTooSmall() {
+		new YearCutoff(2025, 0);
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testShortYearDigitsTooLarge() {
+		new YearCutoff(2025, 4);
+	}
 
 }
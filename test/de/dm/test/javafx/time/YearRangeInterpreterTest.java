@@ -0,0 +1,193 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 David Meersteiner
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.dm.test.javafx.time;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.*;
+import static org.hamcrest.CoreMatchers.*;
+
+import java.lang.management.ManagementFactory;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.dm.javafx.time.exception.NumberParseException;
+import de.dm.javafx.time.util.year.YearCutoff;
+import de.dm.javafx.time.util.year.YearRangeInterpreter;
+
+public class YearRangeInterpreterTest {
+
+	private static final int SIZE = 1000;
+	
+	private YearRangeInterpreter interpreter;
+	
+	@Before
+	public void setUp() throws Exception {
+		interpreter = new YearRangeInterpreter(new YearCutoff(2020));
+	}
+	
+	@Test
+	public void testAbbreviatedEnd() {
+		assertRange("98-03", 1998, 2003);
+		assertRange("1998-05", 1998, 2005);
+		assertRange("1998-99", 1998, 1999);
+		assertRange("1995-7", 1995, 1997);
+		assertRange("2019/2", 2019, 2022);
+		assertRange("1998-005", 1998, 2005);
+		assertRange("98-98", 1998, 1998);
+	}
+	
+	@Test
+	public void testStartFollowsCutoff() {
+		assertRange("20-21", 2020, 2021);
+		assertRange("21-22", 1921, 1922);
+		assertRange("05-98", 2005, 2098);
+	}
+	
+	@Test
+	public void testSeparators() {
+		assertRange("'98\u2013'03", 1998, 2003);
+		assertRange(" 1998 - 2003 ", 1998, 2003);
+		assertRange("\u201998/\u201903", 1998, 2003);
+		assertRange("\u0669\u0668-\u0660\u0663", 1998, 2003);
+	}
+	
+	@Test
+	public void testLongEnd() {
+		assertRange("1998-2003", 1998, 2003);
+		assertRange("98-2003", 1998, 2003);
+		assertThat(YearRangeInterpreter.isValid(interpreter.tryInterpret("1998-1990")), is(false));
+	}
+	
+	@Test
+	public void testSingleYear() {
+		assertRange("'98", 1998, 1998);
+		assertRange("2003", 2003, 2003);
+	}
+	
+	@Test
+	public void testInvalid() {
+		String[] inputs = { "", " ", "-", "98-", "-03", "98--03", "98:03", "98-03x", "x98-03", "98 03", "98-'", "98-0a",
+				"2147483647-8", "99999999999-1" };
+		for (String input : inputs) {
+			long range = interpreter.tryInterpret(input);
+			assertThat(input, YearRangeInterpreter.isValid(range), is(false));
+			assertThat(input, range, is(YearRangeInterpreter.INVALID));
+		}
+	}
+	
+	@Test(expected=NumberParseException.class)
+	public void testInterpretThrows() {
+		interpreter.interpret("98-");
+	}
+	
+	@Test
+	public void testRangeOfSequence() {
+		long range = interpreter.tryInterpret("from 98-03 on", 5, 10);
+		assertThat(YearRangeInterpreter.getStartYear(range), is(1998));
+		assertThat(YearRangeInterpreter.getEndYear(range), is(2003));
+	}
+	
+	@Test
+	public void testNoSigns() {
+		assertThat(YearRangeInterpreter.isValid(interpreter.tryInterpret("-5")), is(false));
+		assertThat(YearRangeInterpreter.isValid(interpreter.tryInterpret("+5-7")), is(false));
+		assertThat(YearRangeInterpreter.isValid(interpreter.tryInterpret("5-+7")), is(false));
+	}
+	
+	@Test
+	public void testInterpretAll() {
+		String[] ranges = new String[SIZE];
+		for (int i = 0; i < SIZE; i++) {
+			ranges[i] = i % 50 == 7 ? null : i % 50 == 8 ? "x" : String.format("%02d-%02d", i % 100, (i + 3) % 100);
+		}
+		int[] startYears = new int[SIZE];
+		int[] endYears = new int[SIZE];
+		long[] errors = new long[(SIZE + 63) / 64];
+		assertThat(interpreter.interpretAll(ranges, startYears, endYears, errors), is(2 * SIZE / 50));
+		for (int i = 0; i < SIZE; i++) {
+			boolean failed = (errors[i / 64] & 1L << i) != 0;
+			assertThat(failed, is(ranges[i] == null || ranges[i].equals("x")));
+			if (failed) {
+				assertThat(startYears[i], is(0));
+				assertThat(endYears[i], is(0));
+			} else {
+				long range = interpreter.tryInterpret(ranges[i]);
+				assertThat(startYears[i], is(YearRangeInterpreter.getStartYear(range)));
+				assertThat(endYears[i], is(YearRangeInterpreter.getEndYear(range)));
+				assertThat(endYears[i] - startYears[i], is(3));
+			}
+		}
+	}
+	
+	@Test
+	public void testInterpretAllRange() {
+		String[] ranges = { "x", "98-03", "x", "x" };
+		int[] startYears = new int[4];
+		int[] endYears = new int[4];
+		long[] errors = { -1L };
+		assertThat(interpreter.interpretAll(ranges, 1, 3, startYears, endYears, errors), is(1));
+		assertThat(errors[0], is(~0b010L));
+		assertThat(startYears[1], is(1998));
+		assertThat(endYears[1], is(2003));
+	}
+	
+	@Test(expected=IndexOutOfBoundsException.class)
+	public void testEndYearsTooShort() {
+		interpreter.interpretAll(new String[2], new int[2], new int[1], new long[1]);
+	}
+	
+	@Test
+	public void testInterpretAllAllocatesNothing() {
+		java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+		com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) bean;
+		assumeTrue(threadBean.isThreadAllocatedMemorySupported());
+		threadBean.setThreadAllocatedMemoryEnabled(true);
+		String[] ranges = new String[SIZE];
+		for (int i = 0; i < SIZE; i++) {
+			ranges[i] = i % 3 == 0 ? "19" + (i % 100) + "-" + (i % 7) : "'" + (i % 10) + "0\u2013'" + (i % 10) + "5";
+		}
+		int[] startYears = new int[SIZE];
+		int[] endYears = new int[SIZE];
+		long[] errors = new long[(SIZE + 63) / 64];
+		for (int i = 0; i < 1000; i++) {
+			interpreter.interpretAll(ranges, startYears, endYears, errors);
+		}
+		long threadId = Thread.currentThread().getId();
+		long before = threadBean.getThreadAllocatedBytes(threadId);
+		for (int i = 0; i < 100; i++) {
+			interpreter.interpretAll(ranges, startYears, endYears, errors);
+		}
+		long allocated = threadBean.getThreadAllocatedBytes(threadId) - before;
+		assertThat(allocated / (100L * SIZE), is(0L));
+	}
+	
+	private void assertRange(String input, int startYear, int endYear) {
+		long range = interpreter.interpret(input);
+		assertThat(input, YearRangeInterpreter.getStartYear(range), is(startYear));
+		assertThat(input, YearRangeInterpreter.getEndYear(range), is(endYear));
+	}
+}
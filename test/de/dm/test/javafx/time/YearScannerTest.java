@@ -0,0 +1,171 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 David Meersteiner
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.dm.test.javafx.time;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.*;
+import static org.hamcrest.CoreMatchers.*;
+
+import java.lang.management.ManagementFactory;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.dm.javafx.time.util.year.FrozenYearCutoff;
+import de.dm.javafx.time.util.year.YearMatches;
+import de.dm.javafx.time.util.year.YearScanner;
+
+public class YearScannerTest {
+
+	private YearScanner scanner;
+	private YearMatches matches;
+	
+	@Before
+	public void setUp() throws Exception {
+		scanner = new YearScanner(FrozenYearCutoff.of(2030));
+		matches = new YearMatches();
+	}
+	
+	@Test
+	public void testApostropheYears() {
+		assertMatches("class of '05", 9, 12, 2005);
+		assertMatches("'98", 0, 3, 1998);
+		// the word in front of the apostrophe isn't a prefix
+		assertMatches("Summer'98 tour", 6, 9, 1998);
+		assertMatches("\u201898\u2019", 0, 3, 1998);
+		assertMatches("the \u201990s", 4, 8, 1990);
+		assertMatches("'\u0669\u0668", 0, 3, 1998);
+	}
+	
+	@Test
+	public void testFiscalYears() {
+		assertMatches("FY23", 0, 4, 2023);
+		assertMatches("fy'23.", 0, 5, 2023);
+		assertMatches("in FY 2023", 3, 10, 2023);
+		assertMatches("FY '23", 0, 6, 2023);
+		assertMatches("(FY99)", 1, 5, 1999);
+	}
+	
+	@Test
+	public void testQuarters() {
+		assertMatches("Q3'24", 0, 5, 2024);
+		assertMatches("Q3/24", 0, 5, 2024);
+		assertMatches("q1-19", 0, 5, 2019);
+		assertMatches("Q4 2024", 0, 7, 2024);
+		assertMatches("Q3 '24", 0, 6, 2024);
+		assertMatches("Q3 \u201924", 0, 6, 2024);
+	}
+	
+	@Test
+	public void testSeveralTokens() {
+		String text = "Class of '98, revenue FY23 and Q3/24";
+		assertThat(scanner.scan(text, matches), is(3));
+		assertThat(matches.toString(), is("YearMatches[9-12=1998, 22-26=2023, 31-36=2024]"));
+		// matches are appended
+		assertThat(scanner.scan(text, 9, 12, matches), is(1));
+		assertThat(matches.size(), is(4));
+		assertThat(matches.getStart(3), is(9));
+	}
+	
+	@Test
+	public void testNoTokens() {
+		String[] texts = {
+				"", "5'10 tall", "'1998", "'9", "'98x", "'98st", "FY123", "FY23a", "AFY23", "FYI 23",
+				"Q5'24", "Q3:24", "FY '2a", "SQ3/24", "in 1998", "rock'n'roll", "F", "FY", "Q3", "Q3'" };
+		for (String text : texts) {
+			assertThat(text, scanner.scan(text, matches), is(0));
+		}
+		assertThat(matches.isEmpty(), is(true));
+	}
+	
+	@Test
+	public void testFailedTokenDoesNotHideNext() {
+		assertMatches("F'98", 1, 4, 1998);
+		assertMatches("Q9 '98", 3, 6, 1998);
+		assertMatches("FY123 FY23", 6, 10, 2023);
+	}
+	
+	@Test
+	public void testRangeBordersAreWordBorders() {
+		String text = "xFY23x";
+		assertThat(scanner.scan(text, matches), is(0));
+		assertThat(scanner.scan(text, 1, 5, matches), is(1));
+		assertThat(matches.getStart(0), is(1));
+		assertThat(matches.getEnd(0), is(5));
+	}
+	
+	@Test(expected=IndexOutOfBoundsException.class)
+	public void testIndexOutOfBounds() {
+		matches.getYear(0);
+	}
+	
+	@Test
+	public void testBufferGrows() {
+		YearMatches small = new YearMatches(0);
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < 100; i++) {
+			text.append("FY").append(1900 + i).append(' ');
+		}
+		assertThat(scanner.scan(text, small), is(100));
+		for (int i = 0; i < 100; i++) {
+			assertThat(small.getYear(i), is(1900 + i));
+			assertThat(small.getStart(i), is(7 * i));
+		}
+		small.clear();
+		assertThat(small.size(), is(0));
+	}
+	
+	@Test
+	public void testScanAllocatesNothing() {
+		java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+		com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) bean;
+		assumeTrue(threadBean.isThreadAllocatedMemorySupported());
+		threadBean.setThreadAllocatedMemoryEnabled(true);
+		String text = "Class of '98, revenue FY23 and Q3/24, not 5'10 or FY123";
+		long sum = 0;
+		for (int i = 0; i < 100_000; i++) {
+			matches.clear();
+			sum += scanner.scan(text, matches);
+		}
+		long threadId = Thread.currentThread().getId();
+		long before = threadBean.getThreadAllocatedBytes(threadId);
+		for (int i = 0; i < 100_000; i++) {
+			matches.clear();
+			sum += scanner.scan(text, matches);
+		}
+		long allocated = threadBean.getThreadAllocatedBytes(threadId) - before;
+		assertThat(sum, is(600_000L));
+		assertThat(allocated / 100_000, is(0L));
+	}
+	
+	private void assertMatches(String text, int start, int end, int year) {
+		matches.clear();
+		assertThat(text, scanner.scan(text, matches), is(1));
+		assertThat(text, matches.getStart(0), is(start));
+		assertThat(text, matches.getEnd(0), is(end));
+		assertThat(text, matches.getYear(0), is(year));
+	}
+}